@@ -0,0 +1,233 @@
+package javaGuiEventListenersDemo;
+
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.EventListenerList;
+import javax.swing.undo.CannotRedoException;
+import javax.swing.undo.CannotUndoException;
+import javax.swing.undo.CompoundEdit;
+import javax.swing.undo.UndoManager;
+import javax.swing.undo.UndoableEdit;
+
+/**
+ * Memory-Bounded Undo Manager with Typing-Run Coalescing
+ *
+ * A plain UndoManager keeps every keystroke as its own edit and limits
+ * history by edit count only. This one merges consecutive single-position
+ * inserts (or consecutive backspaces/deletes) into one TypingRun, so a typed
+ * word undoes in one step, and it evicts the oldest runs once the estimated
+ * retained size goes over a byte budget.
+ *
+ * A run ends when the typing pauses, the caret jumps, inserting switches
+ * to deleting, or the run reaches a quarter of the budget, so even unbroken
+ * typing leaves evictable runs behind. Retained size is an estimate: a fixed per-edit overhead for
+ * the event and its position references, plus two bytes per affected char.
+ */
+class BoundedUndoManager extends UndoManager {
+
+    /** Approximate heap held by one document edit apart from its text. */
+    static final int EDIT_OVERHEAD_BYTES = 96;
+
+    /** A run is closed once it holds this share of the budget, so it can be evicted. */
+    private static final int MAX_RUN_FRACTION = 4;
+
+    /** Typing pause that closes the current run. */
+    private static final long RUN_TIMEOUT_MILLIS = 1000;
+
+    private final long budgetBytes;
+    private final EventListenerList listeners = new EventListenerList();
+    private TypingRun run;
+    private long retainedBytes = 0;
+    private long evictedRuns = 0;
+    private long coalescedEdits = 0;
+
+    BoundedUndoManager(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+        // The byte budget replaces the count limit
+        setLimit(Integer.MAX_VALUE);
+    }
+
+    @Override
+    public synchronized boolean addEdit(UndoableEdit anEdit) {
+        long cost = estimateBytes(anEdit);
+        if (run != null && run.bytes >= budgetBytes / MAX_RUN_FRACTION) {
+            // Unbroken typing would otherwise grow one unevictable run forever
+            endRun();
+        }
+        if (run != null && run.absorb(anEdit)) {
+            coalescedEdits++;
+            run.bytes += cost;
+            retainedBytes += cost;
+        } else {
+            endRun();
+            run = new TypingRun(anEdit, cost);
+            // Also drops the redo tail through trimEdits()
+            super.addEdit(run);
+            retainedBytes += cost;
+        }
+        enforceBudget();
+        fireStateChanged();
+        return true;
+    }
+
+    @Override
+    public synchronized void undo() throws CannotUndoException {
+        endRun();
+        super.undo();
+        fireStateChanged();
+    }
+
+    @Override
+    public synchronized void redo() throws CannotRedoException {
+        endRun();
+        super.redo();
+        fireStateChanged();
+    }
+
+    @Override
+    public synchronized boolean canUndo() {
+        // An open run counts as undoable; undo() closes it first
+        return (run != null && run.isInProgress()) || super.canUndo();
+    }
+
+    @Override
+    public synchronized void discardAllEdits() {
+        run = null;
+        super.discardAllEdits();
+        retainedBytes = 0;
+        fireStateChanged();
+    }
+
+    @Override
+    protected void trimEdits(int from, int to) {
+        for (int i = from; i <= to && i < edits.size(); i++) {
+            UndoableEdit edit = edits.get(i);
+            if (edit instanceof TypingRun) {
+                retainedBytes -= ((TypingRun) edit).bytes;
+            }
+            if (edit == run) {
+                run = null;
+            }
+        }
+        super.trimEdits(from, to);
+    }
+
+    synchronized long getRetainedBytes() {
+        return retainedBytes;
+    }
+
+    synchronized String getStatsText() {
+        return String.format("%d edits, %.1f / %.1f KB, %d keystrokes merged, %d evicted",
+                edits.size(), retainedBytes / 1024.0, budgetBytes / 1024.0, coalescedEdits, evictedRuns);
+    }
+
+    /**
+     * Notified on the calling thread whenever history or stats change.
+     */
+    void addChangeListener(ChangeListener l) {
+        listeners.add(ChangeListener.class, l);
+    }
+
+    private void fireStateChanged() {
+        ChangeEvent event = new ChangeEvent(this);
+        for (ChangeListener l : listeners.getListeners(ChangeListener.class)) {
+            l.stateChanged(event);
+        }
+    }
+
+    private void endRun() {
+        if (run != null && run.isInProgress()) {
+            run.end();
+        }
+    }
+
+    /**
+     * Drops the oldest runs until the budget is met. The newest one is kept
+     * so the last change can be undone, unless it alone is over the budget
+     * (e.g. a huge paste), in which case history is cleared entirely.
+     */
+    private void enforceBudget() {
+        int evict = 0;
+        long bytes = retainedBytes;
+        while (bytes > budgetBytes && evict < edits.size()) {
+            UndoableEdit edit = edits.get(evict);
+            bytes -= edit instanceof TypingRun ? ((TypingRun) edit).bytes : 0;
+            evict++;
+        }
+        if (evict > 0) {
+            evictedRuns += evict;
+            trimEdits(0, evict - 1);
+        }
+    }
+
+    static long estimateBytes(UndoableEdit edit) {
+        if (edit instanceof DocumentEvent) {
+            return EDIT_OVERHEAD_BYTES + 2L * ((DocumentEvent) edit).getLength();
+        }
+        return EDIT_OVERHEAD_BYTES;
+    }
+
+    /**
+     * A run of adjacent inserts or adjacent removals typed without a pause.
+     */
+    private static class TypingRun extends CompoundEdit {
+
+        private final DocumentEvent.EventType type;
+        private int nextOffset;
+        private long lastEditTime;
+        long bytes;
+
+        TypingRun(UndoableEdit first, long bytes) {
+            super.addEdit(first);
+            this.bytes = bytes;
+            this.lastEditTime = System.currentTimeMillis();
+            if (first instanceof DocumentEvent) {
+                DocumentEvent e = (DocumentEvent) first;
+                this.type = e.getType();
+                this.nextOffset = e.getType() == DocumentEvent.EventType.INSERT
+                        ? e.getOffset() + e.getLength() : e.getOffset();
+            } else {
+                this.type = null;
+                end();
+            }
+        }
+
+        /**
+         * Adds the edit if it continues this run; otherwise leaves the run
+         * untouched and returns false.
+         */
+        boolean absorb(UndoableEdit edit) {
+            if (!isInProgress() || !(edit instanceof DocumentEvent)) {
+                return false;
+            }
+            DocumentEvent e = (DocumentEvent) edit;
+            long now = System.currentTimeMillis();
+            if (e.getType() != type || now - lastEditTime > RUN_TIMEOUT_MILLIS) {
+                return false;
+            }
+
+            boolean continues;
+            if (type == DocumentEvent.EventType.INSERT) {
+                continues = e.getOffset() == nextOffset;
+            } else {
+                // Backspace moves left, Delete stays put
+                continues = e.getOffset() + e.getLength() == nextOffset || e.getOffset() == nextOffset;
+            }
+            if (!continues) {
+                return false;
+            }
+
+            super.addEdit(edit);
+            nextOffset = type == DocumentEvent.EventType.INSERT ? e.getOffset() + e.getLength() : e.getOffset();
+            lastEditTime = now;
+            return true;
+        }
+
+        @Override
+        public boolean addEdit(UndoableEdit anEdit) {
+            // Only absorb() may extend a run; UndoManager must append new ones
+            return false;
+        }
+    }
+}
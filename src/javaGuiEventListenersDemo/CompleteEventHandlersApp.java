@@ -3,9 +3,11 @@ package javaGuiEventListenersDemo;
 import com.formdev.flatlaf.FlatLightLaf;
 import javax.swing.*;
 import javax.swing.event.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import javax.swing.table.DefaultTableModel;
 import javax.swing.tree.DefaultMutableTreeNode;
 import javax.swing.tree.TreePath;
+import javax.swing.text.JTextComponent;
 import javax.swing.undo.UndoableEdit;
 import java.awt.*;
 import java.awt.event.*;
@@ -21,13 +23,23 @@ import java.awt.event.*;
  */
 public class CompleteEventHandlersApp extends JFrame {
 
-    private JTextArea eventLog;
+    private JList<String> eventLog;
+    private JScrollPane logScroll;
+    private final LogArchive logArchive = new LogArchive(Long.getLong("eventdemo.log.maxLines", 5_000_000));
+    private boolean logFlushPending = false;
     private int eventCounter = 0;
+    private GcMonitorPanel gcMonitor;
+    private EventStormDetector stormDetector;
+    private final EventHistory eventHistory =
+            new EventHistory(Long.getLong("eventdemo.history.capacity", 5_000_000));
+    private final TestWindowListener testWindowListener = new TestWindowListener(this::logEvent);
 
     public CompleteEventHandlersApp() {
         super("Complete Java Swing Event Handlers Learning App");
         setupUI();
         setupAllEventHandlers();
+        gcMonitor.start();
+        stormDetector.start();
     }
 
  private void setupUI() {
@@ -36,19 +48,28 @@ public class CompleteEventHandlersApp extends JFrame {
         setPreferredSize(new Dimension(1200, 800)); // preferred size
         setLayout(new BorderLayout());
 
-        // Event Log Area
-        eventLog = new JTextArea(15, 50);
-        eventLog.setEditable(false);
+        // Event Log Area - a list over the compressed archive, so only visible lines are materialized
+        eventLog = new JList<>(logArchive);
+        eventLog.setName("eventLog");
+        eventLog.setVisibleRowCount(15);
 
         float scale = Toolkit.getDefaultToolkit().getScreenResolution() / 96f;
         eventLog.setFont(new Font("Monospaced", Font.PLAIN, (int)(11 * scale))); // scaled font
+        // Fixed cell size keeps layout O(1) regardless of history length
+        eventLog.setPrototypeCellValue(String.format("%200s", ""));
 
-        JScrollPane logScroll = new JScrollPane(eventLog);
+        logScroll = new JScrollPane(eventLog);
         logScroll.setBorder(BorderFactory.createTitledBorder("Event Log - Watch Events Fire Here!"));
         add(logScroll, BorderLayout.SOUTH);
 
+        // Created before the tabs so events fired while building them are counted
+        gcMonitor = new GcMonitorPanel(this::logEvent);
+        stormDetector = new EventStormDetector(this::writeLogEntry,
+                Double.parseDouble(System.getProperty("eventdemo.storm.threshold", "50")));
+
         // Main Components Panel
         JTabbedPane tabbedPane = new JTabbedPane();
+        tabbedPane.setName("mainTabs");
 
         // Tab 1: Basic Event Handlers
         tabbedPane.addTab("Basic Events", createBasicEventsPanel());
@@ -68,6 +89,9 @@ public class CompleteEventHandlersApp extends JFrame {
         // Tab 6: Document & Text Events
         tabbedPane.addTab("Text Events", createTextEventsPanel());
 
+        // Tab 7: Performance Monitoring
+        tabbedPane.addTab("Performance", createPerformancePanel());
+
         add(tabbedPane, BorderLayout.CENTER);
 
         // Instructions Panel
@@ -98,10 +122,14 @@ public class CompleteEventHandlersApp extends JFrame {
         panel.add(checkBox);
 
         // 3. ChangeListener - For sliders, progress bars, spinners
+        // Drags are coalesced: only the value the slider settles on is logged
         JSlider slider = new JSlider(0, 100, 50);
         slider.setToolTipText("Fires when slider value changes");
-        slider.addChangeListener(e -> logEvent("ChangeListener", "stateChanged",
-                "Slider value: " + slider.getValue()));
+        ModelChangeCoalescer<Integer> sliderCoalescer = new ModelChangeCoalescer<>(slider::getValue,
+                slider::getValueIsAdjusting,
+                (previous, value, suppressed) -> logEvent("ChangeListener", "stateChanged",
+                        "Slider value: " + value + suppressedText(suppressed)));
+        slider.addChangeListener(e -> sliderCoalescer.changed());
         panel.add(slider);
 
         // 4. ListSelectionListener - For JList selections
@@ -119,15 +147,21 @@ public class CompleteEventHandlersApp extends JFrame {
         // 5. SpinnerListener via ChangeListener
         JSpinner spinner = new JSpinner(new SpinnerNumberModel(0, 0, 100, 1));
         spinner.setToolTipText("Spinner uses ChangeListener - fires when value changes");
-        spinner.addChangeListener(e -> logEvent("ChangeListener (Spinner)", "stateChanged",
-                "Spinner value: " + spinner.getValue()));
+        // No adjusting flag here, so auto-repeat bursts settle after a short quiet window
+        ModelChangeCoalescer<Object> spinnerCoalescer = ModelChangeCoalescer.windowed(spinner::getValue,
+                (previous, value, suppressed) -> logEvent("ChangeListener (Spinner)", "stateChanged",
+                        "Spinner value: " + value + suppressedText(suppressed)));
+        spinner.addChangeListener(e -> spinnerCoalescer.changed());
         panel.add(spinner);
 
         // 6. ButtonModel ChangeListener - Advanced button state tracking
         JToggleButton toggleBtn = new JToggleButton("Toggle Button");
         toggleBtn.setToolTipText("Uses ButtonModel ChangeListener - tracks button state changes");
-        toggleBtn.getModel().addChangeListener(e -> logEvent("ButtonModel ChangeListener", "stateChanged",
-                "Toggle state: " + toggleBtn.isSelected()));
+        // Armed, pressed and rollover changes that leave the state alone are deduped
+        ModelChangeCoalescer<Integer> toggleCoalescer = ModelChangeCoalescer.forButtonModel(toggleBtn.getModel(),
+                (previous, value, suppressed) -> logEvent("ButtonModel ChangeListener", "stateChanged",
+                        "Toggle state: " + toggleBtn.isSelected() + suppressedText(suppressed)));
+        toggleBtn.getModel().addChangeListener(e -> toggleCoalescer.changed());
         panel.add(toggleBtn);
 
         // 7. ComboBox with ItemListener
@@ -143,10 +177,7 @@ public class CompleteEventHandlersApp extends JFrame {
 
         // Clear button
         JButton clearBtn = new JButton("Clear Event Log");
-        clearBtn.addActionListener(e -> {
-            eventLog.setText("");
-            eventCounter = 0;
-        });
+        clearBtn.addActionListener(e -> clearEventLog());
         panel.add(clearBtn);
 
         return panel;
@@ -166,6 +197,7 @@ public class CompleteEventHandlersApp extends JFrame {
                 g.drawString("Mouse Event Area - Move, click, drag here!", 10, 20);
             }
         };
+        mouseArea.setName("mouseArea");
         mouseArea.setPreferredSize(new Dimension(400, 200));
         mouseArea.setBorder(BorderFactory.createTitledBorder("Mouse Events Testing Area"));
 
@@ -174,19 +206,22 @@ public class CompleteEventHandlersApp extends JFrame {
             @Override
             public void mouseClicked(MouseEvent e) {
                 logEvent("MouseListener", "mouseClicked",
-                        "Button: " + e.getButton() + " at (" + e.getX() + "," + e.getY() + ")");
+                        "Button: " + e.getButton() + " at (" + e.getX() + "," + e.getY() + ")",
+                        e.getX(), e.getY(), EventHistory.NONE);
             }
 
             @Override
             public void mousePressed(MouseEvent e) {
                 logEvent("MouseListener", "mousePressed",
-                        "Button: " + e.getButton() + " at (" + e.getX() + "," + e.getY() + ")");
+                        "Button: " + e.getButton() + " at (" + e.getX() + "," + e.getY() + ")",
+                        e.getX(), e.getY(), EventHistory.NONE);
             }
 
             @Override
             public void mouseReleased(MouseEvent e) {
                 logEvent("MouseListener", "mouseReleased",
-                        "Button: " + e.getButton() + " at (" + e.getX() + "," + e.getY() + ")");
+                        "Button: " + e.getButton() + " at (" + e.getX() + "," + e.getY() + ")",
+                        e.getX(), e.getY(), EventHistory.NONE);
             }
 
             @Override
@@ -205,7 +240,8 @@ public class CompleteEventHandlersApp extends JFrame {
             @Override
             public void mouseDragged(MouseEvent e) {
                 logEvent("MouseMotionListener", "mouseDragged",
-                        "Dragging at (" + e.getX() + "," + e.getY() + ")");
+                        "Dragging at (" + e.getX() + "," + e.getY() + ")",
+                        e.getX(), e.getY(), EventHistory.NONE);
             }
 
             @Override
@@ -227,6 +263,7 @@ public class CompleteEventHandlersApp extends JFrame {
         JPanel keyPanel = new JPanel(new FlowLayout());
 
         JTextField keyField = new JTextField("Type here for key events", 20);
+        keyField.setName("keyField");
         keyField.setToolTipText("KeyListener - fires for key press, release, and typed events");
 
         // 11. KeyListener - All keyboard events
@@ -234,13 +271,15 @@ public class CompleteEventHandlersApp extends JFrame {
             @Override
             public void keyPressed(KeyEvent e) {
                 logEvent("KeyListener", "keyPressed",
-                        "Key: " + KeyEvent.getKeyText(e.getKeyCode()) + " (Code: " + e.getKeyCode() + ")");
+                        "Key: " + KeyEvent.getKeyText(e.getKeyCode()) + " (Code: " + e.getKeyCode() + ")",
+                        EventHistory.NONE, EventHistory.NONE, e.getKeyCode());
             }
 
             @Override
             public void keyReleased(KeyEvent e) {
                 logEvent("KeyListener", "keyReleased",
-                        "Key: " + KeyEvent.getKeyText(e.getKeyCode()) + " (Code: " + e.getKeyCode() + ")");
+                        "Key: " + KeyEvent.getKeyText(e.getKeyCode()) + " (Code: " + e.getKeyCode() + ")",
+                        EventHistory.NONE, EventHistory.NONE, e.getKeyCode());
             }
 
             @Override
@@ -441,6 +480,55 @@ public class CompleteEventHandlersApp extends JFrame {
         desktop.add(internalFrame);
         panel.add(desktop);
 
+        // Stress mode: open, cycle and dispose many pooled windows sharing one set of listeners
+        JPanel stressPanel = new JPanel(new BorderLayout());
+        stressPanel.setBorder(BorderFactory.createTitledBorder("Window Stress Test"));
+        JPanel stressControls = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        JSpinner windowCountSpinner = new JSpinner(new SpinnerNumberModel(100, 1, 1000, 50));
+        JSpinner roundSpinner = new JSpinner(new SpinnerNumberModel(3, 1, 50, 1));
+        JButton stressBtn = new JButton("Run");
+        stressControls.add(new JLabel("Windows:"));
+        stressControls.add(windowCountSpinner);
+        stressControls.add(new JLabel("Rounds:"));
+        stressControls.add(roundSpinner);
+        stressControls.add(stressBtn);
+        stressPanel.add(stressControls, BorderLayout.NORTH);
+        JTextArea stressResult = new JTextArea(4, 30);
+        stressResult.setEditable(false);
+        stressResult.setLineWrap(true);
+        stressResult.setWrapStyleWord(true);
+        stressPanel.add(new JScrollPane(stressResult), BorderLayout.CENTER);
+
+        WindowStressTest stressTest = new WindowStressTest(testWindowListener);
+        stressBtn.addActionListener(e -> {
+            int windows = (Integer) windowCountSpinner.getValue();
+            int rounds = (Integer) roundSpinner.getValue();
+            stressBtn.setEnabled(false);
+            new SwingWorker<WindowStressTest.Result, String>() {
+                @Override
+                protected WindowStressTest.Result doInBackground() throws Exception {
+                    return stressTest.run(windows, rounds, this::publish);
+                }
+
+                @Override
+                protected void process(java.util.List<String> chunks) {
+                    stressResult.setText(chunks.get(chunks.size() - 1));
+                }
+
+                @Override
+                protected void done() {
+                    stressBtn.setEnabled(true);
+                    toFront();
+                    try {
+                        stressResult.setText(get().toString());
+                    } catch (Exception ex) {
+                        stressResult.setText("Stress test failed: " + ex.getCause());
+                    }
+                }
+            }.execute();
+        });
+        panel.add(stressPanel);
+
         return panel;
     }
 
@@ -458,6 +546,7 @@ public class CompleteEventHandlersApp extends JFrame {
         root.add(node2);
 
         JTree tree = new JTree(root);
+        tree.setName("eventTree");
         tree.addTreeSelectionListener(e -> {
             TreePath path = e.getNewLeadSelectionPath();
             if (path != null) {
@@ -521,6 +610,7 @@ public class CompleteEventHandlersApp extends JFrame {
         });
 
         JTable table = new JTable(tableModel);
+        table.setName("eventTable");
         panel.add(new JScrollPane(table));
 
         JButton addRowBtn = new JButton("Add Table Row");
@@ -581,9 +671,10 @@ public class CompleteEventHandlersApp extends JFrame {
         // 22. PropertyChangeListener - Bean property changes
         JProgressBar progressBar = new JProgressBar(0, 100);
         progressBar.setValue(25);
-        progressBar.addPropertyChangeListener("value", e
-                -> logEvent("PropertyChangeListener", "propertyChange",
-                        "Property: " + e.getPropertyName() + " Old: " + e.getOldValue() + " New: " + e.getNewValue()));
+        ModelChangeCoalescer<Integer> progressCoalescer = ModelChangeCoalescer.windowed(progressBar::getValue,
+                (previous, value, suppressed) -> logEvent("PropertyChangeListener", "propertyChange",
+                        "Property: value Old: " + previous + " New: " + value + suppressedText(suppressed)));
+        progressBar.addPropertyChangeListener("value", e -> progressCoalescer.changed());
 
         JButton progressBtn = new JButton("Change Progress");
         progressBtn.addActionListener(e
@@ -624,12 +715,53 @@ public class CompleteEventHandlersApp extends JFrame {
 
         // 24. UndoableEditListener - Undoable edit events
         JTextArea undoArea = new JTextArea("Type here for undo events", 3, 20);
+        undoArea.setName("undoArea");
         undoArea.getDocument().addUndoableEditListener(e -> {
             UndoableEdit edit = e.getEdit();
             logEvent("UndoableEditListener", "undoableEditHappened",
                     "Edit: " + edit.getPresentationName() + " Significant: " + edit.isSignificant());
         });
-        panel.add(new JScrollPane(undoArea));
+
+        // Real undo/redo: typing runs are merged and history is capped by size in bytes
+        BoundedUndoManager undoManager = new BoundedUndoManager(Long.getLong("eventdemo.undo.budget", 64 * 1024));
+        undoArea.getDocument().addUndoableEditListener(undoManager);
+
+        Action undoAction = new AbstractAction("Undo") {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                if (undoManager.canUndo()) {
+                    undoManager.undo();
+                }
+            }
+        };
+        Action redoAction = new AbstractAction("Redo") {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                if (undoManager.canRedo()) {
+                    undoManager.redo();
+                }
+            }
+        };
+        undoAction.setEnabled(undoManager.canUndo());
+        redoAction.setEnabled(undoManager.canRedo());
+        bindUndoKeys(undoArea, undoAction, redoAction);
+
+        JLabel undoStats = new JLabel(undoManager.getStatsText());
+        undoManager.addChangeListener(e -> {
+            undoStats.setText(undoManager.getStatsText());
+            undoAction.setEnabled(undoManager.canUndo());
+            redoAction.setEnabled(undoManager.canRedo());
+        });
+
+        JPanel undoButtons = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        undoButtons.add(new JButton(undoAction));
+        undoButtons.add(new JButton(redoAction));
+        undoButtons.add(undoStats);
+
+        JPanel undoPanel = new JPanel(new BorderLayout());
+        undoPanel.add(new JScrollPane(undoArea), BorderLayout.CENTER);
+        undoPanel.add(undoButtons, BorderLayout.SOUTH);
+        panel.add(undoPanel);
 
         // 25. CaretListener - Text caret position changes
         JTextArea caretArea = new JTextArea("Move cursor here", 3, 20);
@@ -648,11 +780,150 @@ public class CompleteEventHandlersApp extends JFrame {
             logEvent("HyperlinkListener", "hyperlinkUpdate",
                     "Event: " + eventType + " URL: " + e.getURL());
         });
-        panel.add(new JScrollPane(editorPane));
+
+        // Large-document mode: parse local HTML files off the EDT
+        LargeHtmlLoader htmlLoader = new LargeHtmlLoader(editorPane, this::logEvent);
+        JButton loadHtmlBtn = new JButton("Load Local HTML File...");
+        loadHtmlBtn.setToolTipText("Parses the file in the background and indexes its links");
+        loadHtmlBtn.addActionListener(e -> {
+            JFileChooser chooser = new JFileChooser();
+            chooser.setFileFilter(new FileNameExtensionFilter("HTML files", "html", "htm"));
+            if (chooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
+                htmlLoader.load(chooser.getSelectedFile());
+            }
+        });
+
+        JPanel htmlPanel = new JPanel(new BorderLayout());
+        htmlPanel.add(new JScrollPane(editorPane), BorderLayout.CENTER);
+        htmlPanel.add(loadHtmlBtn, BorderLayout.SOUTH);
+        panel.add(htmlPanel);
 
         return panel;
     }
 
+    // getMenuShortcutKeyMaskEx() only exists from Java 10; the project targets Java 8
+    @SuppressWarnings("deprecation")
+    private static void bindUndoKeys(JTextComponent text, Action undoAction, Action redoAction) {
+        int menuMask = Toolkit.getDefaultToolkit().getMenuShortcutKeyMask();
+        text.getInputMap().put(KeyStroke.getKeyStroke(KeyEvent.VK_Z, menuMask), "undo");
+        text.getInputMap().put(KeyStroke.getKeyStroke(KeyEvent.VK_Y, menuMask), "redo");
+        text.getInputMap().put(KeyStroke.getKeyStroke(KeyEvent.VK_Z, menuMask | InputEvent.SHIFT_DOWN_MASK), "redo");
+        text.getActionMap().put("undo", undoAction);
+        text.getActionMap().put("redo", redoAction);
+    }
+
+    private JComponent createPerformancePanel() {
+        JPanel panel = new JPanel();
+        panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
+        panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        // 31. NotificationListener - GC pauses and heap pool thresholds via JMX
+        panel.add(gcMonitor);
+
+        // Storm detection: noisy listeners switch to 1 s summaries automatically
+        JPanel stormPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        stormPanel.setBorder(BorderFactory.createTitledBorder("Event Storm Detector"));
+        stormPanel.add(new JLabel("Summarize a listener above (events/s):"));
+        JSpinner thresholdSpinner = new JSpinner(new SpinnerNumberModel(
+                stormDetector.getStormThreshold(), 5.0, 10000.0, 5.0));
+        thresholdSpinner.addChangeListener(e -> stormDetector.setStormThreshold(
+                ((Number) thresholdSpinner.getValue()).doubleValue()));
+        stormPanel.add(thresholdSpinner);
+        JLabel stormStatus = new JLabel(stormDetector.getStatusText());
+        stormDetector.addChangeListener(e -> stormStatus.setText(stormDetector.getStatusText()));
+        stormPanel.add(stormStatus);
+        panel.add(stormPanel);
+
+        // 32. AWTEventListener - one global hook instead of per-component listeners
+        GlobalEventCapture capture = new GlobalEventCapture(this::logEvent);
+        JPanel capturePanel = new JPanel(new BorderLayout());
+        capturePanel.setBorder(BorderFactory.createTitledBorder("Global Capture (Toolkit.addAWTEventListener)"));
+        JPanel captureControls = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        JCheckBox captureBox = new JCheckBox("Capture app-wide");
+        captureBox.addItemListener(e -> capture.setInstalled(e.getStateChange() == ItemEvent.SELECTED));
+        captureControls.add(captureBox);
+        for (GlobalEventCapture.Category category : GlobalEventCapture.Category.values()) {
+            JCheckBox categoryBox = new JCheckBox(category.label);
+            categoryBox.addItemListener(e -> capture.setEnabled(category, e.getStateChange() == ItemEvent.SELECTED));
+            // Motion is very chatty and every log row resizes something, so both start off
+            categoryBox.setSelected(category != GlobalEventCapture.Category.MOUSE_MOTION
+                    && category != GlobalEventCapture.Category.COMPONENT);
+            captureControls.add(categoryBox);
+        }
+        JCheckBox captureLogBox = new JCheckBox("Log captured events", true);
+        captureLogBox.addItemListener(e -> capture.setLogging(e.getStateChange() == ItemEvent.SELECTED));
+        captureControls.add(captureLogBox);
+        JButton captureResetBtn = new JButton("Reset Counts");
+        captureResetBtn.addActionListener(e -> capture.resetCounts());
+        captureControls.add(captureResetBtn);
+        capturePanel.add(captureControls, BorderLayout.NORTH);
+
+        JLabel captureStats = new JLabel(" ");
+        new Timer(1000, e -> {
+            StringBuilder sb = new StringBuilder("<html>");
+            for (GlobalEventCapture.Category category : GlobalEventCapture.Category.values()) {
+                sb.append(category.label).append(": ").append(capture.getCount(category))
+                        .append(" (").append(capture.getAverageNanos(category)).append(" ns avg)")
+                        .append(capture.isEnabled(category) ? "" : " off").append(" &nbsp; ");
+            }
+            sb.append("| pre-filter rejected: ").append(capture.getRejected())
+                    .append(" (").append(capture.getRejectedAverageNanos()).append(" ns avg)")
+                    .append(" | self-observed dropped: ").append(capture.getSelfObserved())
+                    .append(" (").append(capture.getSelfObservedAverageNanos()).append(" ns avg)</html>");
+            captureStats.setText(sb.toString());
+        }).start();
+        capturePanel.add(captureStats, BorderLayout.CENTER);
+        panel.add(capturePanel);
+
+        // Compressed log history
+        JPanel archivePanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        archivePanel.setBorder(BorderFactory.createTitledBorder("Event Log Archive (Deflater segments)"));
+        JLabel archiveStats = new JLabel(logArchive.getStatsText());
+        new Timer(1000, e -> archiveStats.setText(logArchive.getStatsText())).start();
+        archivePanel.add(archiveStats);
+        panel.add(archivePanel);
+
+        // Every retained event record, read straight from off-heap columns
+        panel.add(new EventStorePanel(eventHistory));
+
+        // Parallel queries over every retained event record
+        panel.add(new EventAnalyticsPanel(eventHistory));
+
+        // Repaint profiling controls, only when started with -Deventdemo.repaintProfile=true
+        ProfilingRepaintManager profiler = ProfilingRepaintManager.current(panel);
+        if (profiler != null) {
+            JPanel repaintPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+            repaintPanel.setBorder(BorderFactory.createTitledBorder("Repaint Profiler (RepaintManager)"));
+
+            JCheckBox overlayBox = new JCheckBox("Flash dirty regions");
+            overlayBox.addItemListener(e -> profiler.setOverlayEnabled(this,
+                    e.getStateChange() == ItemEvent.SELECTED));
+            repaintPanel.add(overlayBox);
+
+            JButton reportBtn = new JButton("Show Repaint Report");
+            reportBtn.addActionListener(e -> {
+                JTextArea report = new JTextArea(profiler.report(), 20, 100);
+                report.setFont(new Font("Monospaced", Font.PLAIN, 12));
+                report.setEditable(false);
+                JOptionPane.showMessageDialog(this, new JScrollPane(report), "Repaint Report",
+                        JOptionPane.PLAIN_MESSAGE);
+            });
+            repaintPanel.add(reportBtn);
+
+            JButton resetBtn = new JButton("Reset Counters");
+            resetBtn.addActionListener(e -> profiler.reset());
+            repaintPanel.add(resetBtn);
+
+            panel.add(repaintPanel);
+        }
+
+        JScrollPane scroll = new JScrollPane(panel);
+        // The global hook must not log the log, or the monitors reporting on it
+        capture.exclude(logScroll);
+        capture.exclude(scroll);
+        return scroll;
+    }
+
     private void setupAllEventHandlers() {
         // Window Event Handlers for main frame
 
@@ -752,62 +1023,8 @@ public class CompleteEventHandlersApp extends JFrame {
         testWindow.setSize(300, 200);
         testWindow.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
 
-        // Add all window listeners to the test window
-        testWindow.addWindowListener(new WindowAdapter() {
-            @Override
-            public void windowOpened(WindowEvent e) {
-                logEvent("WindowListener (Test)", "windowOpened", "Test window opened");
-            }
-
-            @Override
-            public void windowClosing(WindowEvent e) {
-                logEvent("WindowListener (Test)", "windowClosing", "Test window closing");
-            }
-
-            @Override
-            public void windowClosed(WindowEvent e) {
-                logEvent("WindowListener (Test)", "windowClosed", "Test window closed");
-            }
-
-            @Override
-            public void windowActivated(WindowEvent e) {
-                logEvent("WindowListener (Test)", "windowActivated", "Test window activated");
-            }
-
-            @Override
-            public void windowDeactivated(WindowEvent e) {
-                logEvent("WindowListener (Test)", "windowDeactivated", "Test window deactivated");
-            }
-        });
-
-        testWindow.addWindowFocusListener(new WindowFocusListener() {
-            @Override
-            public void windowGainedFocus(WindowEvent e) {
-                logEvent("WindowFocusListener (Test)", "windowGainedFocus", "Test window gained focus");
-            }
-
-            @Override
-            public void windowLostFocus(WindowEvent e) {
-                logEvent("WindowFocusListener (Test)", "windowLostFocus", "Test window lost focus");
-            }
-        });
-
-        testWindow.addWindowStateListener(e -> {
-            String stateString = "";
-            int state = e.getNewState();
-            if ((state & Frame.ICONIFIED) != 0) {
-                stateString += "ICONIFIED ";
-            }
-            if ((state & Frame.MAXIMIZED_BOTH) != 0) {
-                stateString += "MAXIMIZED ";
-            }
-            if (state == Frame.NORMAL) {
-                stateString = "NORMAL";
-            }
-
-            logEvent("WindowStateListener (Test)", "windowStateChanged",
-                    "Test window state: " + stateString);
-        });
+        // One shared instance covers WindowListener, WindowFocusListener and WindowStateListener
+        testWindowListener.attach(testWindow);
 
         // Add content to test window
         JPanel content = new JPanel(new FlowLayout());
@@ -825,14 +1042,50 @@ public class CompleteEventHandlersApp extends JFrame {
         testWindow.setVisible(true);
     }
 
+    private static String suppressedText(int suppressed) {
+        return suppressed > 0 ? " (" + suppressed + " intermediate suppressed)" : "";
+    }
+
     private void logEvent(String listenerType, String methodName, String details) {
+        logEvent(listenerType, methodName, details, EventHistory.NONE, EventHistory.NONE, EventHistory.NONE);
+    }
+
+    private void logEvent(String listenerType, String methodName, String details, int x, int y, int keyCode) {
+        gcMonitor.recordEvent(listenerType);
+        eventHistory.append(System.currentTimeMillis(), listenerType, methodName, x, y, keyCode);
+        if (stormDetector.admit(listenerType, methodName, details)) {
+            writeLogEntry(listenerType, methodName, details);
+        }
+    }
+
+    private void writeLogEntry(String listenerType, String methodName, String details) {
         eventCounter++;
         String timestamp = java.time.LocalTime.now().toString().substring(0, 8);
-        String logEntry = String.format("[%d] %s | %s.%s() | %s%n",
+        String logEntry = String.format("[%d] %s | %s.%s() | %s",
                 eventCounter, timestamp, listenerType, methodName, details);
 
-        eventLog.append(logEntry);
-        eventLog.setCaretPosition(eventLog.getDocument().getLength());
+        logArchive.append(logEntry);
+        // One list update and scroll per EDT batch instead of per event
+        if (!logFlushPending) {
+            logFlushPending = true;
+            SwingUtilities.invokeLater(this::flushEventLog);
+        }
+    }
+
+    private void flushEventLog() {
+        logFlushPending = false;
+        // Follow the tail only if the user has not scrolled back into history
+        JScrollBar bar = logScroll.getVerticalScrollBar();
+        boolean atBottom = bar.getValue() + bar.getVisibleAmount() >= bar.getMaximum() - eventLog.getFixedCellHeight();
+        logArchive.flush();
+        if (atBottom && logArchive.getSize() > 0) {
+            eventLog.ensureIndexIsVisible(logArchive.getSize() - 1);
+        }
+    }
+
+    void clearEventLog() {
+        logArchive.clear();
+        eventCounter = 0;
     }
 
     public static void main(String[] args) {
@@ -843,6 +1096,11 @@ public class CompleteEventHandlersApp extends JFrame {
         }
 
         SwingUtilities.invokeLater(() -> {
+            // Optional repaint profiling; must be installed before any component exists
+            if (Boolean.getBoolean("eventdemo.repaintProfile")) {
+                ProfilingRepaintManager.install();
+            }
+
             CompleteEventHandlersApp app = new CompleteEventHandlersApp();
             app.setVisible(true);
             app.setLocationRelativeTo(null); // centers window
@@ -898,6 +1156,10 @@ public class CompleteEventHandlersApp extends JFrame {
  * 27. CaretListener - caretUpdate()
  * 28. HyperlinkListener - hyperlinkUpdate()
  * 
+ * PERFORMANCE MONITORING:
+ * 29. NotificationListener (JMX) - handleNotification() - GC pauses and memory pool thresholds
+ * 30. AWTEventListener - eventDispatched() - Global capture of every event in the enabled masks
+ * 
  * ADAPTER CLASSES (Convenience classes that implement listeners with empty methods):
  * - MouseAdapter (implements MouseListener, MouseMotionListener, MouseWheelListener)
  * - KeyAdapter (implements KeyListener)
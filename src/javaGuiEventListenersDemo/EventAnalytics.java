@@ -0,0 +1,341 @@
+package javaGuiEventListenersDemo;
+
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Parallel Analytics over the Event History
+ *
+ * Queries split a snapshot of the history into slices of a few thousand
+ * records and run them as a fork/join tree: every leaf scans its slice's
+ * primitive columns into a private accumulator, and accumulators are merged
+ * on the way back up. There is no shared mutable state during the scan, so
+ * throughput grows with the number of cores until memory bandwidth runs out.
+ *
+ * Every query returns a CompletableFuture completed on the pool; UI code
+ * should continue with thenAcceptAsync(..., SwingUtilities::invokeLater).
+ */
+class EventAnalytics {
+
+    /** Slices smaller than this are not split further. */
+    private static final int MIN_SLICE = 8192;
+
+    private final EventHistory history;
+    private final ForkJoinPool pool;
+
+    EventAnalytics(EventHistory history) {
+        this(history, ForkJoinPool.commonPool());
+    }
+
+    EventAnalytics(EventHistory history, ForkJoinPool pool) {
+        this.history = history;
+        this.pool = pool;
+    }
+
+    /**
+     * Record predicate evaluated inside the scan loop.
+     */
+    @FunctionalInterface
+    interface EventFilter {
+
+        EventFilter ALL = (timestamp, listener, method) -> true;
+
+        boolean test(long timestamp, int listener, int method);
+
+        default EventFilter and(EventFilter other) {
+            return this == ALL ? other : (timestamp, listener, method) ->
+                    test(timestamp, listener, method) && other.test(timestamp, listener, method);
+        }
+    }
+
+    /**
+     * A parallel reduction: each leaf fills its own accumulator, then
+     * accumulators are merged pairwise.
+     */
+    interface Aggregation<A> {
+
+        A create();
+
+        void accumulate(A acc, long timestamp, int listener, int method);
+
+        A merge(A left, A right);
+    }
+
+    /**
+     * Runs an aggregation over the newest lastN events (all if lastN <= 0).
+     */
+    <A> CompletableFuture<A> aggregate(long lastN, EventFilter filter, Aggregation<A> aggregation) {
+        EventHistory.Segment[] segments = history.snapshot();
+        int[] sizes = new int[segments.length];
+        long total = 0;
+        for (int i = 0; i < segments.length; i++) {
+            sizes[i] = segments[i].size();
+            total += sizes[i];
+        }
+
+        // Translate "newest lastN" into a starting segment and offset
+        long skip = lastN > 0 ? Math.max(0, total - lastN) : 0;
+        List<int[]> slices = new ArrayList<>();
+        for (int i = 0; i < segments.length; i++) {
+            int from = 0;
+            if (skip >= sizes[i]) {
+                skip -= sizes[i];
+                continue;
+            } else if (skip > 0) {
+                from = (int) skip;
+                skip = 0;
+            }
+            for (int start = from; start < sizes[i]; start += MIN_SLICE) {
+                slices.add(new int[]{i, start, Math.min(sizes[i], start + MIN_SLICE)});
+            }
+        }
+
+        ScanTask<A> task = new ScanTask<>(segments, slices, 0, slices.size(), filter, aggregation);
+        return CompletableFuture.supplyAsync(task::invoke, pool);
+    }
+
+    /**
+     * Total number of matching events.
+     */
+    CompletableFuture<Long> count(long lastN, EventFilter filter) {
+        return aggregate(lastN, filter, new Aggregation<long[]>() {
+            @Override
+            public long[] create() {
+                return new long[1];
+            }
+
+            @Override
+            public void accumulate(long[] acc, long timestamp, int listener, int method) {
+                acc[0]++;
+            }
+
+            @Override
+            public long[] merge(long[] left, long[] right) {
+                left[0] += right[0];
+                return left;
+            }
+        }).thenApply(acc -> acc[0]);
+    }
+
+    /**
+     * Matching events per listener, busiest first, limited to topN entries.
+     */
+    CompletableFuture<Map<String, Long>> topListeners(long lastN, EventFilter filter, int topN) {
+        int listenerCount = history.listenerNames().size();
+        return aggregate(lastN, filter, new ListenerCounts(listenerCount))
+                .thenApply(counts -> toTopN(counts, topN));
+    }
+
+    /**
+     * Matching events per listener per wall-clock minute. Keys of the outer
+     * map are epoch minutes in ascending order; inner maps are listener name
+     * to count.
+     */
+    CompletableFuture<TreeMap<Long, Map<String, Long>>> countPerListenerPerMinute(long lastN, EventFilter filter) {
+        int listenerCount = history.listenerNames().size();
+        return aggregate(lastN, filter, new Aggregation<MinuteCounts>() {
+            @Override
+            public MinuteCounts create() {
+                return new MinuteCounts(listenerCount);
+            }
+
+            @Override
+            public void accumulate(MinuteCounts acc, long timestamp, int listener, int method) {
+                acc.add(timestamp / 60_000, listener);
+            }
+
+            @Override
+            public MinuteCounts merge(MinuteCounts left, MinuteCounts right) {
+                return left.merge(right);
+            }
+        }).thenApply(this::toNamedMinutes);
+    }
+
+    /**
+     * Filter for one listener name; matches nothing if it never fired.
+     */
+    EventFilter listener(String listenerType) {
+        int id = history.listenerNames().find(listenerType);
+        return (timestamp, listener, method) -> listener == id;
+    }
+
+    /**
+     * Filter for events at or after the given epoch millisecond.
+     */
+    static EventFilter since(long timestamp) {
+        return (t, listener, method) -> t >= timestamp;
+    }
+
+    private Map<String, Long> toTopN(long[] counts, int topN) {
+        Integer[] order = new Integer[counts.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(counts[b], counts[a]));
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < order.length && result.size() < topN && counts[order[i]] > 0; i++) {
+            result.put(history.listenerNames().name(order[i]), counts[order[i]]);
+        }
+        return result;
+    }
+
+    private TreeMap<Long, Map<String, Long>> toNamedMinutes(MinuteCounts counts) {
+        TreeMap<Long, Map<String, Long>> result = new TreeMap<>();
+        for (Map.Entry<Long, long[]> entry : counts.minutes.entrySet()) {
+            Map<String, Long> perListener = new LinkedHashMap<>();
+            long[] row = entry.getValue();
+            for (int id = 0; id < row.length; id++) {
+                if (row[id] > 0) {
+                    perListener.put(history.listenerNames().name(id), row[id]);
+                }
+            }
+            result.put(entry.getKey(), perListener);
+        }
+        return result;
+    }
+
+    /**
+     * Fork/join node over slices [from, to) of the snapshot.
+     */
+    private static class ScanTask<A> extends RecursiveTask<A> {
+
+        private final EventHistory.Segment[] segments;
+        private final List<int[]> slices;
+        private final int from;
+        private final int to;
+        private final EventFilter filter;
+        private final Aggregation<A> aggregation;
+
+        ScanTask(EventHistory.Segment[] segments, List<int[]> slices, int from, int to,
+                EventFilter filter, Aggregation<A> aggregation) {
+            this.segments = segments;
+            this.slices = slices;
+            this.from = from;
+            this.to = to;
+            this.filter = filter;
+            this.aggregation = aggregation;
+        }
+
+        @Override
+        protected A compute() {
+            if (to - from <= 1) {
+                A acc = aggregation.create();
+                if (to > from) {
+                    scan(slices.get(from), acc);
+                }
+                return acc;
+            }
+            int mid = (from + to) >>> 1;
+            ScanTask<A> left = new ScanTask<>(segments, slices, from, mid, filter, aggregation);
+            ScanTask<A> right = new ScanTask<>(segments, slices, mid, to, filter, aggregation);
+            left.fork();
+            A rightResult = right.compute();
+            return aggregation.merge(left.join(), rightResult);
+        }
+
+        private void scan(int[] slice, A acc) {
+            EventHistory.Segment segment = segments[slice[0]];
+            // Absolute gets on the shared column views; no position state is touched
+            LongBuffer timestamps = segment.timestamps;
+            IntBuffer listeners = segment.listeners;
+            IntBuffer methods = segment.methods;
+            for (int i = slice[1]; i < slice[2]; i++) {
+                long t = timestamps.get(i);
+                int l = listeners.get(i);
+                int m = methods.get(i);
+                if (filter.test(t, l, m)) {
+                    aggregation.accumulate(acc, t, l, m);
+                }
+            }
+        }
+    }
+
+    /**
+     * Count per listener id.
+     */
+    private static class ListenerCounts implements Aggregation<long[]> {
+
+        private final int listenerCount;
+
+        ListenerCounts(int listenerCount) {
+            this.listenerCount = listenerCount;
+        }
+
+        @Override
+        public long[] create() {
+            return new long[listenerCount];
+        }
+
+        @Override
+        public void accumulate(long[] acc, long timestamp, int listener, int method) {
+            // Listeners registered after the query started are not counted
+            if (listener < acc.length) {
+                acc[listener]++;
+            }
+        }
+
+        @Override
+        public long[] merge(long[] left, long[] right) {
+            for (int i = 0; i < left.length; i++) {
+                left[i] += right[i];
+            }
+            return left;
+        }
+    }
+
+    /**
+     * Per-minute rows of per-listener counts. Records inside a slice are in
+     * time order, so the current row is cached and the map is only touched
+     * when the minute changes.
+     */
+    private static class MinuteCounts {
+
+        final TreeMap<Long, long[]> minutes = new TreeMap<>();
+        private final int listenerCount;
+        private long currentMinute = Long.MIN_VALUE;
+        private long[] currentRow;
+
+        MinuteCounts(int listenerCount) {
+            this.listenerCount = listenerCount;
+        }
+
+        void add(long minute, int listener) {
+            if (minute != currentMinute) {
+                currentMinute = minute;
+                currentRow = minutes.get(minute);
+                if (currentRow == null) {
+                    currentRow = new long[listenerCount];
+                    minutes.put(minute, currentRow);
+                }
+            }
+            if (listener < currentRow.length) {
+                currentRow[listener]++;
+            }
+        }
+
+        MinuteCounts merge(MinuteCounts other) {
+            for (Map.Entry<Long, long[]> entry : other.minutes.entrySet()) {
+                long[] row = minutes.get(entry.getKey());
+                if (row == null) {
+                    minutes.put(entry.getKey(), entry.getValue());
+                } else {
+                    long[] add = entry.getValue();
+                    for (int i = 0; i < row.length; i++) {
+                        row[i] += add[i];
+                    }
+                }
+            }
+            currentMinute = Long.MIN_VALUE;
+            return this;
+        }
+    }
+}
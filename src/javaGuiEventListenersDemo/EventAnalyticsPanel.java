@@ -0,0 +1,156 @@
+package javaGuiEventListenersDemo;
+
+import javax.swing.*;
+import java.awt.*;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Event History Analytics Panel
+ *
+ * Front end for EventAnalytics: runs count, group-by and top-N queries over
+ * the newest N retained events, optionally narrowed to one listener and to
+ * the last few minutes, on the ForkJoinPool and shows the result when it
+ * arrives, without blocking the EDT while the scan runs.
+ */
+class EventAnalyticsPanel extends JPanel {
+
+    private static final DateTimeFormatter MINUTE_FORMAT =
+            DateTimeFormatter.ofPattern("HH:mm").withZone(ZoneId.systemDefault());
+
+    private static final String ALL_LISTENERS = "All listeners";
+
+    private final EventHistory history;
+    private final EventAnalytics analytics;
+    private final JSpinner lastNSpinner = new JSpinner(new SpinnerNumberModel(5_000_000, 1_000, 100_000_000, 100_000));
+    private final JComboBox<String> listenerCombo = new JComboBox<>(new String[]{ALL_LISTENERS});
+    private final JSpinner minutesSpinner = new JSpinner(new SpinnerNumberModel(0, 0, 10_080, 5));
+    private final JLabel retainedLabel = new JLabel();
+    private final JTextArea resultArea = new JTextArea(10, 60);
+    private final JButton[] queryButtons;
+
+    EventAnalyticsPanel(EventHistory history) {
+        super(new BorderLayout());
+        this.history = history;
+        this.analytics = new EventAnalytics(history);
+        setBorder(BorderFactory.createTitledBorder("Event History Analytics (ForkJoinPool)"));
+
+        JButton countBtn = new JButton("Count");
+        countBtn.addActionListener(e -> run("Matching events",
+                analytics.count(lastN(), filter()), count -> String.format("%,d", count)));
+
+        JButton topBtn = new JButton("Top 10 Listeners");
+        topBtn.addActionListener(e -> run("Top 10 listeners",
+                analytics.topListeners(lastN(), filter(), 10), this::formatCounts));
+
+        JButton perMinuteBtn = new JButton("Per Listener per Minute");
+        perMinuteBtn.addActionListener(e -> run("Events per listener per minute",
+                analytics.countPerListenerPerMinute(lastN(), filter()), this::formatMinutes));
+
+        queryButtons = new JButton[]{countBtn, topBtn, perMinuteBtn};
+
+        JPanel queries = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        queries.add(new JLabel("Newest"));
+        queries.add(lastNSpinner);
+        queries.add(new JLabel("events:"));
+        queries.add(countBtn);
+        queries.add(topBtn);
+        queries.add(perMinuteBtn);
+        queries.add(retainedLabel);
+
+        JPanel filters = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        filters.add(new JLabel("Only"));
+        filters.add(listenerCombo);
+        filters.add(new JLabel("from the last"));
+        filters.add(minutesSpinner);
+        filters.add(new JLabel("minutes (0 = any time)"));
+
+        JPanel controls = new JPanel(new GridLayout(0, 1));
+        controls.add(queries);
+        controls.add(filters);
+        add(controls, BorderLayout.NORTH);
+
+        resultArea.setEditable(false);
+        resultArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
+        add(new JScrollPane(resultArea), BorderLayout.CENTER);
+
+        new Timer(1000, e -> updateRetained()).start();
+        updateRetained();
+    }
+
+    private long lastN() {
+        return ((Number) lastNSpinner.getValue()).longValue();
+    }
+
+    /**
+     * Listener and time-range filter from the controls, evaluated per record
+     * inside the scan.
+     */
+    private EventAnalytics.EventFilter filter() {
+        EventAnalytics.EventFilter filter = EventAnalytics.EventFilter.ALL;
+        if (listenerCombo.getSelectedIndex() > 0) {
+            filter = analytics.listener((String) listenerCombo.getSelectedItem());
+        }
+        int minutes = ((Number) minutesSpinner.getValue()).intValue();
+        if (minutes > 0) {
+            filter = filter.and(EventAnalytics.since(System.currentTimeMillis() - minutes * 60_000L));
+        }
+        return filter;
+    }
+
+    private <T> void run(String title, CompletableFuture<T> query, Function<T, String> format) {
+        long start = System.nanoTime();
+        setQueryButtonsEnabled(false);
+        resultArea.setText(title + ": running on " + ForkJoinPool.commonPool().getParallelism() + " threads...");
+        query.whenCompleteAsync((result, error) -> {
+            setQueryButtonsEnabled(true);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            if (error != null) {
+                resultArea.setText(title + " failed: " + error);
+            } else {
+                resultArea.setText(title + " (" + millis + " ms)\n" + format.apply(result));
+                resultArea.setCaretPosition(0);
+            }
+        }, SwingUtilities::invokeLater);
+    }
+
+    private void setQueryButtonsEnabled(boolean enabled) {
+        for (JButton button : queryButtons) {
+            button.setEnabled(enabled);
+        }
+    }
+
+    private String formatCounts(Map<String, Long> counts) {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Long> entry : counts.entrySet()) {
+            sb.append(String.format("%-40s %,12d%n", entry.getKey(), entry.getValue()));
+        }
+        return sb.length() == 0 ? "(no events)" : sb.toString();
+    }
+
+    private String formatMinutes(TreeMap<Long, Map<String, Long>> minutes) {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<Long, Map<String, Long>> minute : minutes.entrySet()) {
+            sb.append(MINUTE_FORMAT.format(Instant.ofEpochMilli(minute.getKey() * 60_000))).append('\n');
+            for (Map.Entry<String, Long> entry : minute.getValue().entrySet()) {
+                sb.append(String.format("    %-36s %,12d%n", entry.getKey(), entry.getValue()));
+            }
+        }
+        return sb.length() == 0 ? "(no events)" : sb.toString();
+    }
+
+    private void updateRetained() {
+        retainedLabel.setText(String.format("Retained: %,d events", history.size()));
+        // Listener ids only grow, so new names are appended in id order
+        EventHistory.NameTable names = history.listenerNames();
+        for (int id = listenerCombo.getItemCount() - 1; id < names.size(); id++) {
+            listenerCombo.addItem(names.name(id));
+        }
+    }
+}
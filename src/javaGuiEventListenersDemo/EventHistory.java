@@ -0,0 +1,284 @@
+package javaGuiEventListenersDemo;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Retained Event History (off-heap, column-wise)
+ *
+ * Every logged event is kept as a fixed-width record: timestamp, listener id,
+ * method id, x, y and key code. Records live in segments of SEGMENT_SIZE
+ * rows, and each segment is one direct ByteBuffer cut into a column per
+ * field. The heap only holds a handful of buffer objects per segment, so GC
+ * work stays the same whether thousands or tens of millions of events are
+ * retained; the data itself costs RECORD_BYTES per event outside the heap.
+ * Listener and method names are interned into small integer ids.
+ *
+ * Appends happen on the EDT only. Readers on other threads take a snapshot:
+ * a segment's size is published after its slots are written, and the segment
+ * array is replaced rather than modified, so a snapshot never changes under
+ * a running query. Once the capacity is reached the oldest segment is
+ * dropped and its native memory is released with its buffer.
+ */
+class EventHistory {
+
+    static final int SEGMENT_SIZE = 1 << 16;
+
+    /** Marks a column value the event did not have (e.g. x for a key event). */
+    static final int NONE = Integer.MIN_VALUE;
+
+    /** timestamp (8) + listener, method, x, y, key code (4 each). */
+    static final int RECORD_BYTES = 8 + 5 * 4;
+
+    private final int maxSegments;
+    private final NameTable listenerNames = new NameTable();
+    private final NameTable methodNames = new NameTable();
+    private volatile Segment[] segments = new Segment[0];
+    private Segment tail;
+    private volatile long droppedEvents = 0;
+
+    EventHistory(long capacity) {
+        this.maxSegments = (int) Math.max(1, (capacity + SEGMENT_SIZE - 1) / SEGMENT_SIZE);
+    }
+
+    /**
+     * Records one event without coordinates or key code. EDT only.
+     */
+    void append(long timestamp, String listenerType, String methodName) {
+        append(timestamp, listenerType, methodName, NONE, NONE, NONE);
+    }
+
+    /**
+     * Records one event. EDT only.
+     */
+    void append(long timestamp, String listenerType, String methodName, int x, int y, int keyCode) {
+        if (tail == null || tail.size == SEGMENT_SIZE) {
+            addSegment();
+        }
+        int i = tail.size;
+        tail.timestamps.put(i, timestamp);
+        tail.listeners.put(i, listenerNames.id(listenerType));
+        tail.methods.put(i, methodNames.id(methodName));
+        tail.xs.put(i, x);
+        tail.ys.put(i, y);
+        tail.keyCodes.put(i, keyCode);
+        // Volatile write publishes the slot to readers
+        tail.size = i + 1;
+    }
+
+    private void addSegment() {
+        Segment[] current = segments;
+        Segment[] next;
+        if (current.length == maxSegments) {
+            droppedEvents += current[0].size;
+            next = new Segment[current.length];
+            System.arraycopy(current, 1, next, 0, current.length - 1);
+        } else {
+            next = new Segment[current.length + 1];
+            System.arraycopy(current, 0, next, 0, current.length);
+        }
+        tail = new Segment();
+        next[next.length - 1] = tail;
+        segments = next;
+    }
+
+    /**
+     * Segments as of now, oldest first. The last one may still grow; read
+     * {@link Segment#size()} once per query.
+     */
+    Segment[] snapshot() {
+        return segments;
+    }
+
+    long size() {
+        long total = 0;
+        for (Segment segment : segments) {
+            total += segment.size;
+        }
+        return total;
+    }
+
+    long getDroppedEvents() {
+        return droppedEvents;
+    }
+
+    /**
+     * Native memory held by the retained segments, in bytes.
+     */
+    long getOffHeapBytes() {
+        return (long) segments.length * SEGMENT_SIZE * RECORD_BYTES;
+    }
+
+    NameTable listenerNames() {
+        return listenerNames;
+    }
+
+    NameTable methodNames() {
+        return methodNames;
+    }
+
+    /**
+     * Random access by position among the retained events (0 = oldest).
+     * Positions shift down by SEGMENT_SIZE whenever a segment is dropped.
+     */
+    Cursor at(long index) {
+        Segment[] snapshot = segments;
+        int segment = (int) (index / SEGMENT_SIZE);
+        int row = (int) (index % SEGMENT_SIZE);
+        if (index < 0 || segment >= snapshot.length || row >= snapshot[segment].size) {
+            throw new IndexOutOfBoundsException("Event " + index + " of " + size());
+        }
+        return new Cursor(snapshot[segment], row);
+    }
+
+    /**
+     * Visits events from position {@code from} to the end of a snapshot, in
+     * order. Safe to call from any thread.
+     */
+    void scan(long from, RecordVisitor visitor) {
+        Segment[] snapshot = segments;
+        long skip = Math.max(0, from);
+        for (Segment segment : snapshot) {
+            int size = segment.size;
+            if (skip >= size) {
+                skip -= size;
+                continue;
+            }
+            for (int i = (int) skip; i < size; i++) {
+                visitor.visit(segment.timestamps.get(i), segment.listeners.get(i), segment.methods.get(i),
+                        segment.xs.get(i), segment.ys.get(i), segment.keyCodes.get(i));
+            }
+            skip = 0;
+        }
+    }
+
+    /**
+     * Receives one record's columns during a scan.
+     */
+    @FunctionalInterface
+    interface RecordVisitor {
+
+        void visit(long timestamp, int listener, int method, int x, int y, int keyCode);
+    }
+
+    /**
+     * SEGMENT_SIZE records in one direct buffer, split into columns.
+     */
+    static final class Segment {
+
+        final LongBuffer timestamps;
+        final IntBuffer listeners;
+        final IntBuffer methods;
+        final IntBuffer xs;
+        final IntBuffer ys;
+        final IntBuffer keyCodes;
+        volatile int size = 0;
+
+        Segment() {
+            ByteBuffer block = ByteBuffer.allocateDirect(SEGMENT_SIZE * RECORD_BYTES).order(ByteOrder.nativeOrder());
+            // The long column goes first so it stays 8-byte aligned
+            timestamps = column(block, 0, 8).asLongBuffer();
+            int offset = SEGMENT_SIZE * 8;
+            listeners = column(block, offset, 4).asIntBuffer();
+            offset += SEGMENT_SIZE * 4;
+            methods = column(block, offset, 4).asIntBuffer();
+            offset += SEGMENT_SIZE * 4;
+            xs = column(block, offset, 4).asIntBuffer();
+            offset += SEGMENT_SIZE * 4;
+            ys = column(block, offset, 4).asIntBuffer();
+            offset += SEGMENT_SIZE * 4;
+            keyCodes = column(block, offset, 4).asIntBuffer();
+        }
+
+        private static ByteBuffer column(ByteBuffer block, int offset, int width) {
+            ByteBuffer view = block.duplicate();
+            view.position(offset);
+            view.limit(offset + SEGMENT_SIZE * width);
+            return view.slice().order(ByteOrder.nativeOrder());
+        }
+
+        int size() {
+            return size;
+        }
+    }
+
+    /**
+     * One record's columns, read straight from its segment.
+     */
+    static final class Cursor {
+
+        private final Segment segment;
+        private final int row;
+
+        Cursor(Segment segment, int row) {
+            this.segment = segment;
+            this.row = row;
+        }
+
+        long timestamp() {
+            return segment.timestamps.get(row);
+        }
+
+        int listener() {
+            return segment.listeners.get(row);
+        }
+
+        int method() {
+            return segment.methods.get(row);
+        }
+
+        int x() {
+            return segment.xs.get(row);
+        }
+
+        int y() {
+            return segment.ys.get(row);
+        }
+
+        int keyCode() {
+            return segment.keyCodes.get(row);
+        }
+    }
+
+    /**
+     * Interns names into dense ids. Writes come from the EDT; lookups by id
+     * may come from any thread.
+     */
+    static final class NameTable {
+
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> names = new ArrayList<>();
+
+        synchronized int id(String name) {
+            Integer id = ids.get(name);
+            if (id == null) {
+                id = names.size();
+                ids.put(name, id);
+                names.add(name);
+            }
+            return id;
+        }
+
+        /**
+         * Id of an existing name, or -1.
+         */
+        synchronized int find(String name) {
+            Integer id = ids.get(name);
+            return id == null ? -1 : id;
+        }
+
+        synchronized String name(int id) {
+            return names.get(id);
+        }
+
+        synchronized int size() {
+            return names.size();
+        }
+    }
+}
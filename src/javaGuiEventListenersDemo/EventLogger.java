@@ -0,0 +1,13 @@
+package javaGuiEventListenersDemo;
+
+/**
+ * Callback used by the monitoring helpers to write into the shared event log.
+ *
+ * Implementations are always invoked on the Event Dispatch Thread, so the
+ * same stream shows both Swing events and the monitors' own observations.
+ */
+@FunctionalInterface
+interface EventLogger {
+
+    void logEvent(String listenerType, String methodName, String details);
+}
@@ -0,0 +1,204 @@
+package javaGuiEventListenersDemo;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.KeyEvent;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Event Store Browser
+ *
+ * Shows the retained EventHistory records directly: the list model formats a
+ * row from the off-heap columns only when the JList asks for it, so browsing
+ * tens of millions of events costs nothing until they are on screen. CSV
+ * export streams the columns through a sequential scan on a SwingWorker
+ * without materializing any event objects.
+ */
+class EventStorePanel extends JPanel {
+
+    private static final DateTimeFormatter TIME_FORMAT =
+            DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private final EventHistory history;
+    private final StoreListModel model;
+    private final JLabel statsLabel = new JLabel();
+    private final JButton exportBtn = new JButton("Export CSV...");
+
+    EventStorePanel(EventHistory history) {
+        super(new BorderLayout());
+        this.history = history;
+        this.model = new StoreListModel(history);
+        setBorder(BorderFactory.createTitledBorder("Event Store (off-heap columns)"));
+
+        JList<String> list = new JList<>(model);
+        list.setFont(new Font("Monospaced", Font.PLAIN, 12));
+        // A prototype keeps the JList from measuring every row of a huge model
+        list.setPrototypeCellValue(String.format("%,12d  00:00:00.000  %-40s x=%-6s y=%-6s key=%s",
+                0L, "ListenerType.methodName()", "0000", "0000", "Backspace"));
+        list.setVisibleRowCount(8);
+
+        exportBtn.addActionListener(e -> export());
+        JButton lastBtn = new JButton("Jump to Newest");
+        lastBtn.addActionListener(e -> {
+            if (model.getSize() > 0) {
+                list.ensureIndexIsVisible(model.getSize() - 1);
+            }
+        });
+
+        JPanel controls = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        controls.add(lastBtn);
+        controls.add(exportBtn);
+        controls.add(statsLabel);
+        add(controls, BorderLayout.NORTH);
+        add(new JScrollPane(list), BorderLayout.CENTER);
+
+        new Timer(1000, e -> refresh()).start();
+        refresh();
+    }
+
+    private void refresh() {
+        model.refresh();
+        Runtime rt = Runtime.getRuntime();
+        statsLabel.setText(String.format("%,d events, %,d dropped, %.1f MB off-heap (%d B/event), heap used %.1f MB",
+                history.size(), history.getDroppedEvents(), history.getOffHeapBytes() / (1024.0 * 1024.0),
+                EventHistory.RECORD_BYTES, (rt.totalMemory() - rt.freeMemory()) / (1024.0 * 1024.0)));
+    }
+
+    private void export() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new File("events.csv"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File file = chooser.getSelectedFile();
+        long total = history.size();
+        exportBtn.setEnabled(false);
+
+        SwingWorker<Long, Void> worker = new SwingWorker<Long, Void>() {
+            @Override
+            protected Long doInBackground() throws IOException {
+                long[] written = {0};
+                try (BufferedWriter out = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+                    out.write("timestamp,listener,method,x,y,keyCode\n");
+                    history.scan(0, (timestamp, listener, method, x, y, keyCode) -> {
+                        try {
+                            out.write(Long.toString(timestamp));
+                            out.write(',');
+                            out.write(history.listenerNames().name(listener));
+                            out.write(',');
+                            out.write(history.methodNames().name(method));
+                            out.write(',');
+                            out.write(column(x));
+                            out.write(',');
+                            out.write(column(y));
+                            out.write(',');
+                            out.write(column(keyCode));
+                            out.write('\n');
+                        } catch (IOException ex) {
+                            throw new IllegalStateException(ex);
+                        }
+                        if (++written[0] % 100_000 == 0 && total > 0) {
+                            setProgress((int) Math.min(100, written[0] * 100 / total));
+                        }
+                    });
+                } catch (IllegalStateException ex) {
+                    if (ex.getCause() instanceof IOException) {
+                        throw (IOException) ex.getCause();
+                    }
+                    throw ex;
+                }
+                return written[0];
+            }
+
+            @Override
+            protected void done() {
+                exportBtn.setEnabled(true);
+                exportBtn.setText("Export CSV...");
+                try {
+                    statsLabel.setText(String.format("Exported %,d events to %s", get(), file.getName()));
+                } catch (Exception ex) {
+                    statsLabel.setText("Export failed: " + ex.getCause());
+                }
+            }
+        };
+        worker.addPropertyChangeListener(e -> {
+            if ("progress".equals(e.getPropertyName())) {
+                exportBtn.setText("Exporting " + e.getNewValue() + "%");
+            }
+        });
+        worker.execute();
+    }
+
+    private static String column(int value) {
+        return value == EventHistory.NONE ? "" : Integer.toString(value);
+    }
+
+    /**
+     * Read-only view of the store. The size is sampled by refresh() so the
+     * JList sees consistent interval events instead of one per appended record.
+     */
+    private static class StoreListModel extends AbstractListModel<String> {
+
+        private final EventHistory history;
+        private int size = 0;
+        private long dropped = 0;
+
+        StoreListModel(EventHistory history) {
+            this.history = history;
+        }
+
+        void refresh() {
+            int newSize = (int) Math.min(Integer.MAX_VALUE, history.size());
+            long newDropped = history.getDroppedEvents();
+            int oldSize = size;
+            size = newSize;
+            if (newDropped != dropped) {
+                // Every position shifted, so the whole view is stale
+                dropped = newDropped;
+                if (newSize < oldSize) {
+                    fireIntervalRemoved(this, newSize, oldSize - 1);
+                } else if (newSize > oldSize) {
+                    fireIntervalAdded(this, oldSize, newSize - 1);
+                }
+                if (newSize > 0) {
+                    fireContentsChanged(this, 0, newSize - 1);
+                }
+            } else if (newSize > oldSize) {
+                fireIntervalAdded(this, oldSize, newSize - 1);
+            }
+        }
+
+        @Override
+        public int getSize() {
+            return size;
+        }
+
+        @Override
+        public String getElementAt(int index) {
+            if (index >= history.size()) {
+                // A segment was dropped since the last refresh
+                return "";
+            }
+            EventHistory.Cursor event = history.at(index);
+            StringBuilder sb = new StringBuilder(96);
+            sb.append(String.format("%,12d  ", dropped + index))
+                    .append(TIME_FORMAT.format(Instant.ofEpochMilli(event.timestamp()))).append("  ")
+                    .append(history.listenerNames().name(event.listener())).append('.')
+                    .append(history.methodNames().name(event.method())).append("()");
+            if (event.x() != EventHistory.NONE) {
+                sb.append("  x=").append(event.x()).append(" y=").append(event.y());
+            }
+            if (event.keyCode() != EventHistory.NONE) {
+                sb.append("  key=").append(KeyEvent.getKeyText(event.keyCode()));
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package javaGuiEventListenersDemo;
+
+import javax.swing.Timer;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+import javax.swing.event.EventListenerList;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Adaptive Event-Storm Detector
+ *
+ * Some listeners fire in bursts nobody can predict (ancestorMoved while the
+ * window is dragged, componentResized during a resize, caretUpdate while
+ * selecting). For each listener type this keeps an exponentially decayed
+ * event count, which divided by its time constant is a smoothed rate. When
+ * the rate crosses the storm threshold, per-event logging for that listener
+ * stops and a summary is written once a second instead; when the rate falls
+ * below the calm threshold, per-event logging resumes. Both transitions are
+ * logged.
+ *
+ * The two thresholds give hysteresis so a listener hovering around one value
+ * does not flap between modes. All methods run on the EDT.
+ */
+class EventStormDetector {
+
+    /** Time constant of the decayed count, in seconds. */
+    private static final double TAU_SECONDS = 1.0;
+
+    private static final String SOURCE = "EventStormDetector";
+
+    private final EventLogger logger;
+    private final Map<String, ListenerState> states = new HashMap<>();
+    private final EventListenerList listeners = new EventListenerList();
+    private final Timer summaryTimer;
+    private double stormThreshold;
+    private int stormingCount = 0;
+
+    /**
+     * @param logger writes straight to the log, bypassing the detector
+     * @param stormThreshold events per second at which a listener is treated
+     *                       as storming; calm again below a fifth of that
+     */
+    EventStormDetector(EventLogger logger, double stormThreshold) {
+        this.logger = logger;
+        this.stormThreshold = stormThreshold;
+        this.summaryTimer = new Timer(1000, e -> tick());
+    }
+
+    void start() {
+        summaryTimer.start();
+    }
+
+    void setStormThreshold(double eventsPerSecond) {
+        this.stormThreshold = eventsPerSecond;
+    }
+
+    double getStormThreshold() {
+        return stormThreshold;
+    }
+
+    /**
+     * Updates the listener's rate and decides whether this event should be
+     * logged individually. Returns false while the listener is storming; the
+     * event is then only counted towards the next summary.
+     */
+    boolean admit(String listenerType, String methodName, String details) {
+        long now = System.nanoTime();
+        ListenerState state = states.get(listenerType);
+        if (state == null) {
+            state = new ListenerState(now);
+            states.put(listenerType, state);
+        }
+        state.decay(now);
+        state.decayedCount += 1;
+
+        if (!state.storming && state.rate() > stormThreshold) {
+            state.storming = true;
+            state.windowStart = now;
+            stormingCount++;
+            logger.logEvent(SOURCE, "stormStarted", String.format(
+                    "%s at %.0f ev/s (threshold %.0f) - switching to 1 s summaries",
+                    listenerType, state.rate(), stormThreshold));
+            fireStateChanged();
+        }
+        if (!state.storming) {
+            return true;
+        }
+
+        state.suppressed++;
+        state.totalSuppressed++;
+        int[] count = state.methodCounts.get(methodName);
+        if (count == null) {
+            state.methodCounts.put(methodName, new int[]{1});
+        } else {
+            count[0]++;
+        }
+        state.lastMethod = methodName;
+        state.lastDetails = details;
+        return false;
+    }
+
+    String getStatusText() {
+        if (stormingCount == 0) {
+            return "No storms - every event is logged individually";
+        }
+        StringBuilder sb = new StringBuilder("Summarizing: ");
+        boolean first = true;
+        for (Map.Entry<String, ListenerState> entry : states.entrySet()) {
+            ListenerState state = entry.getValue();
+            if (state.storming) {
+                if (!first) {
+                    sb.append(", ");
+                }
+                sb.append(entry.getKey()).append(String.format(" (%.0f/s, %d suppressed)",
+                        state.rate(), state.totalSuppressed));
+                first = false;
+            }
+        }
+        return sb.toString();
+    }
+
+    void addChangeListener(ChangeListener l) {
+        listeners.add(ChangeListener.class, l);
+    }
+
+    void removeChangeListener(ChangeListener l) {
+        listeners.remove(ChangeListener.class, l);
+    }
+
+    private void fireStateChanged() {
+        ChangeEvent event = new ChangeEvent(this);
+        for (ChangeListener l : listeners.getListeners(ChangeListener.class)) {
+            l.stateChanged(event);
+        }
+    }
+
+    /**
+     * Once a second: summarize every storming listener and let those whose
+     * rate has subsided return to per-event logging.
+     */
+    private void tick() {
+        if (stormingCount == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        double calmThreshold = stormThreshold / 5;
+        for (Map.Entry<String, ListenerState> entry : states.entrySet()) {
+            ListenerState state = entry.getValue();
+            if (!state.storming) {
+                continue;
+            }
+            state.decay(now);
+            if (state.suppressed > 0) {
+                logger.logEvent(SOURCE, "summary", summarize(entry.getKey(), state, now));
+            }
+            state.suppressed = 0;
+            state.methodCounts.clear();
+            state.windowStart = now;
+
+            if (state.rate() < calmThreshold) {
+                state.storming = false;
+                stormingCount--;
+                logger.logEvent(SOURCE, "stormEnded", String.format(
+                        "%s down to %.0f ev/s - back to per-event logging (%d events summarized)",
+                        entry.getKey(), state.rate(), state.totalSuppressed));
+                state.totalSuppressed = 0;
+            }
+        }
+        fireStateChanged();
+    }
+
+    private static String summarize(String listenerType, ListenerState state, long now) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%s: %d events in %.1f s (", listenerType, state.suppressed,
+                (now - state.windowStart) / 1e9));
+        boolean first = true;
+        for (Map.Entry<String, int[]> method : state.methodCounts.entrySet()) {
+            if (!first) {
+                sb.append(", ");
+            }
+            sb.append(method.getKey()).append(' ').append(method.getValue()[0]);
+            first = false;
+        }
+        sb.append(") last ").append(state.lastMethod).append(": ").append(state.lastDetails);
+        return sb.toString();
+    }
+
+    private static class ListenerState {
+
+        double decayedCount = 0;
+        long lastUpdate;
+        boolean storming = false;
+        long windowStart;
+        int suppressed = 0;
+        long totalSuppressed = 0;
+        final Map<String, int[]> methodCounts = new HashMap<>();
+        String lastMethod;
+        String lastDetails;
+
+        ListenerState(long now) {
+            this.lastUpdate = now;
+        }
+
+        void decay(long now) {
+            double elapsed = (now - lastUpdate) / 1e9;
+            if (elapsed > 0) {
+                decayedCount *= Math.exp(-elapsed / TAU_SECONDS);
+                lastUpdate = now;
+            }
+        }
+
+        /**
+         * Smoothed events per second.
+         */
+        double rate() {
+            return decayedCount / TAU_SECONDS;
+        }
+    }
+}
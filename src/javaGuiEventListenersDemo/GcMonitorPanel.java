@@ -0,0 +1,329 @@
+package javaGuiEventListenersDemo;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.GcInfo;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+import javax.swing.*;
+import java.awt.*;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Heap and GC Monitor
+ *
+ * Subscribes to GarbageCollectorMXBean notifications and MemoryPoolMXBean
+ * usage thresholds, and writes every GC pause into the same event log as the
+ * Swing events. Once a second the heap is sampled for the chart, and the
+ * estimated allocation rate is correlated with the event rate so that a
+ * listener storm which drives the collector is easy to spot.
+ *
+ * JMX notifications arrive on a management thread; everything that touches
+ * Swing or the sample buffers is handed over to the EDT first.
+ */
+class GcMonitorPanel extends JPanel {
+
+    /** Seconds of history kept for the chart. */
+    private static final int HISTORY = 120;
+
+    /** Fraction of a heap pool's max size at which a usage threshold fires. */
+    private static final double USAGE_THRESHOLD =
+            Double.parseDouble(System.getProperty("eventdemo.gc.threshold", "0.8"));
+
+    private static final double MB = 1024.0 * 1024.0;
+
+    // Listener types this panel logs under; not counted as listener events
+    private static final String GC_SOURCE = "GarbageCollectorMXBean";
+    private static final String POOL_SOURCE = "MemoryPoolMXBean";
+
+    private final EventLogger logger;
+    private final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+    private final Timer sampleTimer;
+
+    // Bytes reclaimed by collections since the last sample (written by the JMX thread)
+    private final AtomicLong reclaimedSinceSample = new AtomicLong();
+
+    // Ring buffers, EDT only
+    private final long[] heapUsed = new long[HISTORY];
+    private final long[] heapCommitted = new long[HISTORY];
+    private final double[] allocRate = new double[HISTORY];
+    private final int[] eventRate = new int[HISTORY];
+    private final boolean[] gcMarker = new boolean[HISTORY];
+    private int head = 0;
+    private int size = 0;
+
+    // Per-listener event counts for the current one-second window, EDT only
+    private Map<String, int[]> windowCounts = new HashMap<>();
+    private int windowEvents = 0;
+    private String lastTopListener = "-";
+    private int lastTopCount = 0;
+    private boolean gcInWindow = false;
+    private long lastHeapUsed;
+
+    // GcInfo reports every pool, Metaspace and code cache included; sums use only these
+    private final Set<String> heapPoolNames = new HashSet<>();
+
+    private final JLabel statsLabel = new JLabel(" ");
+    private final Chart chart = new Chart();
+
+    GcMonitorPanel(EventLogger logger) {
+        super(new BorderLayout());
+        this.logger = logger;
+        setBorder(BorderFactory.createTitledBorder("Heap & GC Monitor (GarbageCollectorMXBean / MemoryPoolMXBean)"));
+        chart.setPreferredSize(new Dimension(600, 180));
+        add(chart, BorderLayout.CENTER);
+        add(statsLabel, BorderLayout.SOUTH);
+
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                heapPoolNames.add(pool.getName());
+            }
+        }
+        lastHeapUsed = memoryBean.getHeapMemoryUsage().getUsed();
+        sampleTimer = new Timer(1000, e -> sample());
+    }
+
+    /**
+     * Registers the JMX listeners and starts sampling.
+     */
+    void start() {
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gc instanceof NotificationEmitter) {
+                ((NotificationEmitter) gc).addNotificationListener(this::handleGcNotification, null, null);
+            }
+        }
+
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            long max = pool.getUsage().getMax();
+            if (pool.getType() == MemoryType.HEAP && pool.isUsageThresholdSupported() && max > 0) {
+                pool.setUsageThreshold((long) (max * USAGE_THRESHOLD));
+            }
+        }
+        ((NotificationEmitter) memoryBean).addNotificationListener(this::handleThresholdNotification, null, null);
+
+        sampleTimer.start();
+    }
+
+    /**
+     * Counts one logged event towards the current window. The panel's own GC
+     * and pool entries are skipped, as they would feed the collector's
+     * activity back into the event rate it is correlated with. Must be
+     * called on the EDT.
+     */
+    void recordEvent(String listenerType) {
+        if (GC_SOURCE.equals(listenerType) || POOL_SOURCE.equals(listenerType)) {
+            return;
+        }
+        windowEvents++;
+        int[] count = windowCounts.get(listenerType);
+        if (count == null) {
+            windowCounts.put(listenerType, new int[]{1});
+        } else {
+            count[0]++;
+        }
+    }
+
+    private void handleGcNotification(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        GcInfo gcInfo = info.getGcInfo();
+
+        long before = sumHeapPools(gcInfo.getMemoryUsageBeforeGc());
+        long after = sumHeapPools(gcInfo.getMemoryUsageAfterGc());
+        reclaimedSinceSample.addAndGet(Math.max(0, before - after));
+
+        String details = String.format("%s (%s) pause %d ms, heap %.1f -> %.1f MB",
+                info.getGcName(), info.getGcCause(), gcInfo.getDuration(), before / MB, after / MB);
+        SwingUtilities.invokeLater(() -> {
+            gcInWindow = true;
+            logger.logEvent(GC_SOURCE, info.getGcAction(),
+                    details + " | top listener: " + currentTopListener());
+        });
+    }
+
+    private long sumHeapPools(Map<String, MemoryUsage> usageByPool) {
+        long used = 0;
+        for (Map.Entry<String, MemoryUsage> entry : usageByPool.entrySet()) {
+            if (heapPoolNames.contains(entry.getKey())) {
+                used += entry.getValue().getUsed();
+            }
+        }
+        return used;
+    }
+
+    private void handleThresholdNotification(Notification notification, Object handback) {
+        if (!MemoryNotificationInfo.MEMORY_THRESHOLD_EXCEEDED.equals(notification.getType())) {
+            return;
+        }
+        MemoryNotificationInfo info = MemoryNotificationInfo.from((CompositeData) notification.getUserData());
+        String details = String.format("Pool '%s' above %.0f%%: %.1f of %.1f MB (count %d)",
+                info.getPoolName(), USAGE_THRESHOLD * 100, info.getUsage().getUsed() / MB,
+                info.getUsage().getMax() / MB, info.getCount());
+        SwingUtilities.invokeLater(() -> logger.logEvent(POOL_SOURCE, "usageThresholdExceeded", details));
+    }
+
+    /**
+     * Top listener of the window in progress, falling back to the previous
+     * full second when the current one has only just started.
+     */
+    private String currentTopListener() {
+        Map.Entry<String, int[]> top = topListener();
+        if (top == null || top.getValue()[0] <= lastTopCount) {
+            return lastTopListener + " (" + lastTopCount + " ev)";
+        }
+        return top.getKey() + " (" + top.getValue()[0] + " ev)";
+    }
+
+    /**
+     * Busiest listener of the current window, or null if nothing was counted.
+     */
+    private Map.Entry<String, int[]> topListener() {
+        Map.Entry<String, int[]> top = null;
+        for (Map.Entry<String, int[]> entry : windowCounts.entrySet()) {
+            if (top == null || entry.getValue()[0] > top.getValue()[0]) {
+                top = entry;
+            }
+        }
+        return top;
+    }
+
+    private void sample() {
+        MemoryUsage heap = memoryBean.getHeapMemoryUsage();
+        long used = heap.getUsed();
+        long allocated = Math.max(0, used - lastHeapUsed + reclaimedSinceSample.getAndSet(0));
+        lastHeapUsed = used;
+
+        Map.Entry<String, int[]> topEntry = topListener();
+        String top = topEntry == null ? "-" : topEntry.getKey();
+        int topCount = topEntry == null ? 0 : topEntry.getValue()[0];
+        lastTopListener = top;
+        lastTopCount = topCount;
+
+        heapUsed[head] = used;
+        heapCommitted[head] = heap.getCommitted();
+        allocRate[head] = allocated / MB;
+        eventRate[head] = windowEvents;
+        gcMarker[head] = gcInWindow;
+        head = (head + 1) % HISTORY;
+        size = Math.min(size + 1, HISTORY);
+
+        statsLabel.setText(String.format(
+                "Heap %.1f / %.1f MB | alloc %.1f MB/s | events %d/s | top: %s (%d) | corr(events, alloc) = %s",
+                used / MB, heap.getCommitted() / MB, allocated / MB, windowEvents, top, topCount,
+                formatCorrelation(correlation())));
+
+        windowCounts = new HashMap<>();
+        windowEvents = 0;
+        gcInWindow = false;
+        chart.repaint();
+    }
+
+    /**
+     * Pearson correlation between events/s and allocated MB/s over the
+     * retained history, or NaN when there is not enough variation.
+     */
+    private double correlation() {
+        if (size < 3) {
+            return Double.NaN;
+        }
+        double sumX = 0, sumY = 0, sumXX = 0, sumYY = 0, sumXY = 0;
+        for (int i = 0; i < size; i++) {
+            double x = eventRate[i];
+            double y = allocRate[i];
+            sumX += x;
+            sumY += y;
+            sumXX += x * x;
+            sumYY += y * y;
+            sumXY += x * y;
+        }
+        double cov = sumXY - sumX * sumY / size;
+        double varX = sumXX - sumX * sumX / size;
+        double varY = sumYY - sumY * sumY / size;
+        if (varX <= 0 || varY <= 0) {
+            return Double.NaN;
+        }
+        return cov / Math.sqrt(varX * varY);
+    }
+
+    private static String formatCorrelation(double r) {
+        return Double.isNaN(r) ? "n/a" : String.format("%.2f", r);
+    }
+
+    /**
+     * Heap used/committed as lines, event rate as bars and GC windows as
+     * red ticks along the bottom.
+     */
+    private class Chart extends JComponent {
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            Graphics2D g2 = (Graphics2D) g.create();
+            int w = getWidth();
+            int h = getHeight();
+            g2.setColor(Color.WHITE);
+            g2.fillRect(0, 0, w, h);
+            if (size < 2) {
+                g2.setColor(Color.GRAY);
+                g2.drawString("Collecting samples...", 10, 20);
+                g2.dispose();
+                return;
+            }
+
+            long maxHeap = 1;
+            int maxEvents = 1;
+            for (int i = 0; i < size; i++) {
+                maxHeap = Math.max(maxHeap, heapCommitted[i]);
+                maxEvents = Math.max(maxEvents, eventRate[i]);
+            }
+
+            double step = (double) w / (HISTORY - 1);
+            int start = (head - size + HISTORY) % HISTORY;
+            int offset = HISTORY - size;
+            int prevUsedY = 0, prevCommittedY = 0, prevX = 0;
+            for (int n = 0; n < size; n++) {
+                int i = (start + n) % HISTORY;
+                int x = (int) ((offset + n) * step);
+
+                int barHeight = (int) ((double) eventRate[i] / maxEvents * (h / 3));
+                g2.setColor(new Color(150, 190, 255));
+                g2.fillRect(x, h - barHeight, Math.max(1, (int) step - 1), barHeight);
+
+                if (gcMarker[i]) {
+                    g2.setColor(Color.RED);
+                    g2.fillRect(x, h - 4, Math.max(2, (int) step), 4);
+                }
+
+                int usedY = h - (int) ((double) heapUsed[i] / maxHeap * (h - 10));
+                int committedY = h - (int) ((double) heapCommitted[i] / maxHeap * (h - 10));
+                if (n > 0) {
+                    g2.setColor(Color.LIGHT_GRAY);
+                    g2.drawLine(prevX, prevCommittedY, x, committedY);
+                    g2.setColor(new Color(0, 120, 0));
+                    g2.drawLine(prevX, prevUsedY, x, usedY);
+                }
+                prevX = x;
+                prevUsedY = usedY;
+                prevCommittedY = committedY;
+            }
+
+            g2.setColor(Color.DARK_GRAY);
+            g2.drawString(String.format("heap used (green) / committed (grey), max %.0f MB; events/s (blue), max %d; GC (red)",
+                    maxHeap / MB, maxEvents), 6, 14);
+            g2.dispose();
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package javaGuiEventListenersDemo;
+
+import javax.swing.SwingUtilities;
+import java.awt.AWTEvent;
+import java.awt.Component;
+import java.awt.Toolkit;
+import java.awt.event.AWTEventListener;
+import java.awt.event.ComponentEvent;
+import java.awt.event.FocusEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseEvent;
+import java.awt.event.WindowEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Global AWTEventListener Capture Mode
+ *
+ * Instead of hand-attaching listeners to every component, one
+ * Toolkit.addAWTEventListener() hook observes every event of the enabled
+ * categories app-wide, so components added later are covered automatically.
+ *
+ * The Toolkit only delivers events in the registered mask, and the hook
+ * itself starts with a lookup in a per-event-ID table, so unwanted IDs are
+ * rejected before anything is allocated. Per-category counts and the time
+ * spent inside the hook, measured from method entry, show what each
+ * category costs while it is on; rejected and self-observed events are timed
+ * separately, so the cost of throwing events away stays visible too.
+ *
+ * A global hook also sees the app's own reaction to what it logs: a new log
+ * row resizes the log list, a stats label update repaints and resizes its
+ * panel, and with component events enabled each of those would be captured
+ * and logged again, so the log would never go quiet. Events whose source is
+ * inside an excluded container (the event log, the monitoring panels) are
+ * therefore dropped before they are counted or logged.
+ *
+ * All methods run on the EDT; the hook is called there too.
+ */
+class GlobalEventCapture {
+
+    /**
+     * Event families that can be switched on and off independently.
+     */
+    enum Category {
+        MOUSE("Mouse", AWTEvent.MOUSE_EVENT_MASK,
+                MouseEvent.MOUSE_CLICKED, MouseEvent.MOUSE_PRESSED, MouseEvent.MOUSE_RELEASED,
+                MouseEvent.MOUSE_ENTERED, MouseEvent.MOUSE_EXITED),
+        MOUSE_MOTION("Mouse motion", AWTEvent.MOUSE_MOTION_EVENT_MASK,
+                MouseEvent.MOUSE_MOVED, MouseEvent.MOUSE_DRAGGED),
+        MOUSE_WHEEL("Mouse wheel", AWTEvent.MOUSE_WHEEL_EVENT_MASK,
+                MouseEvent.MOUSE_WHEEL),
+        KEY("Key", AWTEvent.KEY_EVENT_MASK,
+                KeyEvent.KEY_PRESSED, KeyEvent.KEY_RELEASED, KeyEvent.KEY_TYPED),
+        FOCUS("Focus", AWTEvent.FOCUS_EVENT_MASK,
+                FocusEvent.FOCUS_GAINED, FocusEvent.FOCUS_LOST),
+        WINDOW("Window", AWTEvent.WINDOW_EVENT_MASK | AWTEvent.WINDOW_FOCUS_EVENT_MASK | AWTEvent.WINDOW_STATE_EVENT_MASK,
+                WindowEvent.WINDOW_OPENED, WindowEvent.WINDOW_CLOSING, WindowEvent.WINDOW_CLOSED,
+                WindowEvent.WINDOW_ICONIFIED, WindowEvent.WINDOW_DEICONIFIED, WindowEvent.WINDOW_ACTIVATED,
+                WindowEvent.WINDOW_DEACTIVATED, WindowEvent.WINDOW_GAINED_FOCUS, WindowEvent.WINDOW_LOST_FOCUS,
+                WindowEvent.WINDOW_STATE_CHANGED),
+        COMPONENT("Component", AWTEvent.COMPONENT_EVENT_MASK,
+                ComponentEvent.COMPONENT_MOVED, ComponentEvent.COMPONENT_RESIZED,
+                ComponentEvent.COMPONENT_SHOWN, ComponentEvent.COMPONENT_HIDDEN);
+
+        final String label;
+        final long mask;
+        final int[] ids;
+
+        Category(String label, long mask, int... ids) {
+            this.label = label;
+            this.mask = mask;
+            this.ids = ids;
+        }
+    }
+
+    private static final String LISTENER_NAME = "AWTEventListener (Global)";
+
+    /** Covers every ID used above (FocusEvent.FOCUS_LOST = 1005 is the largest). */
+    private static final int MAX_ID = 1024;
+
+    private final EventLogger logger;
+    private final AWTEventListener hook = this::eventDispatched;
+
+    // Pre-filter tables indexed by event ID
+    private final boolean[] accepted = new boolean[MAX_ID];
+    private final int[] categoryOfId = new int[MAX_ID];
+    private final String[] idNames = new String[MAX_ID];
+
+    private final boolean[] enabled = new boolean[Category.values().length];
+    private final long[] counts = new long[Category.values().length];
+    private final long[] hookNanos = new long[Category.values().length];
+    private final List<Component> excluded = new ArrayList<>();
+    private long rejected = 0;
+    private long rejectedNanos = 0;
+    private long selfObserved = 0;
+    private long selfObservedNanos = 0;
+    private boolean installed = false;
+    private boolean logging = true;
+
+    GlobalEventCapture(EventLogger logger) {
+        this.logger = logger;
+        for (Category category : Category.values()) {
+            for (int id : category.ids) {
+                categoryOfId[id] = category.ordinal();
+                idNames[id] = eventIdName(id);
+            }
+        }
+    }
+
+    /**
+     * Turns the whole capture mode on or off.
+     */
+    void setInstalled(boolean installed) {
+        this.installed = installed;
+        reregister();
+    }
+
+    boolean isInstalled() {
+        return installed;
+    }
+
+    void setEnabled(Category category, boolean on) {
+        enabled[category.ordinal()] = on;
+        for (int id : category.ids) {
+            accepted[id] = on;
+        }
+        reregister();
+    }
+
+    boolean isEnabled(Category category) {
+        return enabled[category.ordinal()];
+    }
+
+    /**
+     * Whether accepted events are written to the event log or only counted.
+     */
+    void setLogging(boolean logging) {
+        this.logging = logging;
+    }
+
+    long getCount(Category category) {
+        return counts[category.ordinal()];
+    }
+
+    /**
+     * Average time spent in the hook per accepted event, in nanoseconds.
+     */
+    long getAverageNanos(Category category) {
+        long count = counts[category.ordinal()];
+        return count == 0 ? 0 : hookNanos[category.ordinal()] / count;
+    }
+
+    long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Average time spent in the hook per pre-filter rejection, in nanoseconds.
+     */
+    long getRejectedAverageNanos() {
+        return rejected == 0 ? 0 : rejectedNanos / rejected;
+    }
+
+    /**
+     * Events dropped because they came from an excluded container.
+     */
+    long getSelfObserved() {
+        return selfObserved;
+    }
+
+    /**
+     * Average time spent in the hook per self-observed event, in nanoseconds;
+     * this is the cost of the exclusion check.
+     */
+    long getSelfObservedAverageNanos() {
+        return selfObserved == 0 ? 0 : selfObservedNanos / selfObserved;
+    }
+
+    /**
+     * Ignores events from root and everything inside it, e.g. the components
+     * that display what this hook logs.
+     */
+    void exclude(Component root) {
+        excluded.add(root);
+    }
+
+    void resetCounts() {
+        Arrays.fill(counts, 0);
+        Arrays.fill(hookNanos, 0);
+        rejected = 0;
+        rejectedNanos = 0;
+        selfObserved = 0;
+        selfObservedNanos = 0;
+    }
+
+    private void reregister() {
+        Toolkit toolkit = Toolkit.getDefaultToolkit();
+        toolkit.removeAWTEventListener(hook);
+        long mask = 0;
+        for (Category category : Category.values()) {
+            if (enabled[category.ordinal()]) {
+                mask |= category.mask;
+            }
+        }
+        if (installed && mask != 0) {
+            toolkit.addAWTEventListener(hook, mask);
+        }
+    }
+
+    private void eventDispatched(AWTEvent event) {
+        long start = System.nanoTime();
+        int id = event.getID();
+        if (id < 0 || id >= MAX_ID || !accepted[id]) {
+            // Shared masks (e.g. window focus vs. state) can deliver IDs we do not want
+            rejected++;
+            rejectedNanos += System.nanoTime() - start;
+            return;
+        }
+        if (isExcluded(event.getSource())) {
+            selfObserved++;
+            selfObservedNanos += System.nanoTime() - start;
+            return;
+        }
+        int category = categoryOfId[id];
+        counts[category]++;
+        if (logging) {
+            logger.logEvent(LISTENER_NAME, idNames[id], describe(event));
+        }
+        hookNanos[category] += System.nanoTime() - start;
+    }
+
+    private boolean isExcluded(Object source) {
+        if (source instanceof Component) {
+            for (Component root : excluded) {
+                if (SwingUtilities.isDescendingFrom((Component) source, root)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String describe(AWTEvent event) {
+        Object source = event.getSource();
+        String type = source.getClass().getSimpleName();
+        if (type.isEmpty()) {
+            type = source.getClass().getSuperclass().getSimpleName();
+        }
+        if (event instanceof MouseEvent) {
+            MouseEvent e = (MouseEvent) event;
+            return "Source: " + type + " at (" + e.getX() + "," + e.getY() + ")";
+        }
+        if (event instanceof KeyEvent) {
+            KeyEvent e = (KeyEvent) event;
+            return "Source: " + type + " key " + KeyEvent.getKeyText(e.getKeyCode());
+        }
+        return "Source: " + type;
+    }
+
+    private static String eventIdName(int id) {
+        switch (id) {
+            case MouseEvent.MOUSE_CLICKED: return "MOUSE_CLICKED";
+            case MouseEvent.MOUSE_PRESSED: return "MOUSE_PRESSED";
+            case MouseEvent.MOUSE_RELEASED: return "MOUSE_RELEASED";
+            case MouseEvent.MOUSE_ENTERED: return "MOUSE_ENTERED";
+            case MouseEvent.MOUSE_EXITED: return "MOUSE_EXITED";
+            case MouseEvent.MOUSE_MOVED: return "MOUSE_MOVED";
+            case MouseEvent.MOUSE_DRAGGED: return "MOUSE_DRAGGED";
+            case MouseEvent.MOUSE_WHEEL: return "MOUSE_WHEEL";
+            case KeyEvent.KEY_PRESSED: return "KEY_PRESSED";
+            case KeyEvent.KEY_RELEASED: return "KEY_RELEASED";
+            case KeyEvent.KEY_TYPED: return "KEY_TYPED";
+            case FocusEvent.FOCUS_GAINED: return "FOCUS_GAINED";
+            case FocusEvent.FOCUS_LOST: return "FOCUS_LOST";
+            case WindowEvent.WINDOW_OPENED: return "WINDOW_OPENED";
+            case WindowEvent.WINDOW_CLOSING: return "WINDOW_CLOSING";
+            case WindowEvent.WINDOW_CLOSED: return "WINDOW_CLOSED";
+            case WindowEvent.WINDOW_ICONIFIED: return "WINDOW_ICONIFIED";
+            case WindowEvent.WINDOW_DEICONIFIED: return "WINDOW_DEICONIFIED";
+            case WindowEvent.WINDOW_ACTIVATED: return "WINDOW_ACTIVATED";
+            case WindowEvent.WINDOW_DEACTIVATED: return "WINDOW_DEACTIVATED";
+            case WindowEvent.WINDOW_GAINED_FOCUS: return "WINDOW_GAINED_FOCUS";
+            case WindowEvent.WINDOW_LOST_FOCUS: return "WINDOW_LOST_FOCUS";
+            case WindowEvent.WINDOW_STATE_CHANGED: return "WINDOW_STATE_CHANGED";
+            case ComponentEvent.COMPONENT_MOVED: return "COMPONENT_MOVED";
+            case ComponentEvent.COMPONENT_RESIZED: return "COMPONENT_RESIZED";
+            case ComponentEvent.COMPONENT_SHOWN: return "COMPONENT_SHOWN";
+            case ComponentEvent.COMPONENT_HIDDEN: return "COMPONENT_HIDDEN";
+            default: return "EVENT_" + id;
+        }
+    }
+}
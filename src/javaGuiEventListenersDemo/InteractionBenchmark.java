@@ -0,0 +1,518 @@
+package javaGuiEventListenersDemo;
+
+import static javaGuiEventListenersDemo.MeasureSupport.onEdt;
+import static javaGuiEventListenersDemo.MeasureSupport.settleHeap;
+import static javaGuiEventListenersDemo.MeasureSupport.usedHeap;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.PlainDocument;
+import java.awt.*;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseEvent;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * End-to-End Interaction Benchmark
+ *
+ * Starts the full CompleteEventHandlersApp and drives scripted scenarios
+ * through the real event queue: a drag storm, rapid tab cycling, bulk table
+ * inserts, tree expand-all and typing bursts, plus parallel queries over a
+ * large event history and a check that sustained typing and a huge paste
+ * stay inside the undo byte budget. Each scenario records throughput, EDT latency
+ * percentiles (from a probe that keeps posting timestamped runnables while
+ * the scenario runs) and heap delta, and compares them to a stored baseline.
+ *
+ * Needs a display; on a headless machine run it under Xvfb:
+ *   xvfb-run -a ant benchmark
+ *
+ * Options:
+ *   --baseline=FILE           baseline to compare with (default benchmarks/baseline.properties)
+ *   --record                  write the results as the new baseline instead of comparing
+ *   --allow-missing-baseline  exit 0 instead of 1 when there is no baseline yet
+ *   --tolerance=0.25          allowed relative regression before failing
+ *   --scale=1.0               multiplies every scenario's operation count
+ *
+ * Exits with status 1 when any metric regresses beyond the tolerance, when
+ * a scenario breaks a hard limit (e.g. the undo byte budget), and also when
+ * the baseline file is missing, so CI cannot pass without ever comparing
+ * anything.
+ */
+public class InteractionBenchmark {
+
+    /** Absolute slack so sub-millisecond noise never counts as a regression. */
+    private static final double LATENCY_SLACK_MS = 2.0;
+    private static final double HEAP_SLACK_KB = 2048.0;
+
+    private final double scale;
+    // Hard limits a scenario found broken; any entry fails the run regardless of baseline
+    private final List<String> violations = new ArrayList<>();
+    private CompleteEventHandlersApp app;
+
+    private InteractionBenchmark(double scale) {
+        this.scale = scale;
+    }
+
+    /**
+     * One scripted interaction; returns the number of operations performed.
+     */
+    private interface Scenario {
+
+        long run() throws Exception;
+    }
+
+    /**
+     * Metrics from one scenario run.
+     */
+    private static class Result {
+
+        final String name;
+        final double throughput;
+        final double p50Ms;
+        final double p95Ms;
+        final double p99Ms;
+        final double heapDeltaKb;
+
+        Result(String name, double throughput, double p50Ms, double p95Ms, double p99Ms, double heapDeltaKb) {
+            this.name = name;
+            this.throughput = throughput;
+            this.p50Ms = p50Ms;
+            this.p95Ms = p95Ms;
+            this.p99Ms = p99Ms;
+            this.heapDeltaKb = heapDeltaKb;
+        }
+    }
+
+    /**
+     * Posts a timestamped runnable to the EDT every couple of milliseconds
+     * and records how long each one waited in the queue.
+     */
+    private static class LatencyProbe extends Thread {
+
+        private long[] samples = new long[4096];
+        private int count = 0;
+        private volatile boolean running = true;
+
+        LatencyProbe() {
+            super("edt-latency-probe");
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                long posted = System.nanoTime();
+                EventQueue.invokeLater(() -> record(System.nanoTime() - posted));
+                try {
+                    Thread.sleep(2);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+
+        private synchronized void record(long nanos) {
+            if (count == samples.length) {
+                samples = Arrays.copyOf(samples, count * 2);
+            }
+            samples[count++] = nanos;
+        }
+
+        synchronized long[] finish() {
+            running = false;
+            return Arrays.copyOf(samples, count);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        File baselineFile = new File("benchmarks/baseline.properties");
+        boolean record = false;
+        boolean allowMissingBaseline = false;
+        double tolerance = 0.25;
+        double scale = 1.0;
+        for (String arg : args) {
+            if (arg.startsWith("--baseline=")) {
+                baselineFile = new File(arg.substring("--baseline=".length()));
+            } else if (arg.equals("--record")) {
+                record = true;
+            } else if (arg.equals("--allow-missing-baseline")) {
+                allowMissingBaseline = true;
+            } else if (arg.startsWith("--tolerance=")) {
+                tolerance = Double.parseDouble(arg.substring("--tolerance=".length()));
+            } else if (arg.startsWith("--scale=")) {
+                scale = Double.parseDouble(arg.substring("--scale=".length()));
+            } else {
+                System.err.println("Unknown option: " + arg);
+                System.exit(2);
+            }
+        }
+        if (GraphicsEnvironment.isHeadless()) {
+            System.err.println("InteractionBenchmark needs a display; run it under Xvfb (xvfb-run -a ant benchmark)");
+            System.exit(2);
+        }
+
+        InteractionBenchmark benchmark = new InteractionBenchmark(scale);
+        List<Result> results = benchmark.runAll();
+        printResults(results);
+
+        int status = 0;
+        if (record) {
+            writeBaseline(baselineFile, results);
+            System.out.println("Baseline written to " + baselineFile);
+        } else if (!baselineFile.exists()) {
+            System.out.println("No baseline at " + baselineFile + "; run with --record to create one");
+            status = allowMissingBaseline ? 0 : 1;
+        } else {
+            status = compare(results, loadBaseline(baselineFile), tolerance) ? 0 : 1;
+        }
+        for (String violation : benchmark.violations) {
+            System.out.println("VIOLATION: " + violation);
+            status = 1;
+        }
+        System.exit(status);
+    }
+
+    private List<Result> runAll() throws Exception {
+        Map<String, Scenario> scenarios = new LinkedHashMap<>();
+        scenarios.put("startup", this::startup);
+        scenarios.put("dragStorm", this::dragStorm);
+        scenarios.put("tabCycle", this::tabCycle);
+        scenarios.put("tableInsert", this::tableInsert);
+        scenarios.put("treeExpandAll", this::treeExpandAll);
+        scenarios.put("typingBurst", this::typingBurst);
+        scenarios.put("historyQuery", this::historyQuery);
+        scenarios.put("undoBudget", this::undoBudget);
+
+        List<Result> results = new ArrayList<>();
+        for (Map.Entry<String, Scenario> entry : scenarios.entrySet()) {
+            System.out.println("Running " + entry.getKey() + "...");
+            results.add(measure(entry.getKey(), entry.getValue()));
+            if (app != null) {
+                // Each scenario starts from an empty log
+                onEdt(() -> app.clearEventLog());
+            }
+        }
+        return results;
+    }
+
+    private Result measure(String name, Scenario scenario) throws Exception {
+        settleHeap();
+        long heapBefore = usedHeap();
+
+        LatencyProbe probe = new LatencyProbe();
+        probe.start();
+        long start = System.nanoTime();
+        long ops = scenario.run();
+        // Everything posted so far has been processed once this returns
+        onEdt(() -> { });
+        long elapsed = System.nanoTime() - start;
+        long[] latencies = probe.finish();
+
+        settleHeap();
+        long heapAfter = usedHeap();
+
+        Arrays.sort(latencies);
+        return new Result(name, ops / (elapsed / 1e9),
+                percentile(latencies, 0.50), percentile(latencies, 0.95), percentile(latencies, 0.99),
+                (heapAfter - heapBefore) / 1024.0);
+    }
+
+    // ---- Scenarios ------------------------------------------------------
+
+    private long startup() throws Exception {
+        onEdt(() -> {
+            app = new CompleteEventHandlersApp();
+            app.setVisible(true);
+            app.setLocationRelativeTo(null);
+        });
+        return 1;
+    }
+
+    private long dragStorm() throws Exception {
+        selectTab("Mouse & Key");
+        JComponent mouseArea = find(app, JComponent.class, "mouseArea");
+        EventQueue queue = Toolkit.getDefaultToolkit().getSystemEventQueue();
+        int count = scaled(10_000);
+        int width = Math.max(1, mouseArea.getWidth());
+        int height = Math.max(1, mouseArea.getHeight());
+        for (int i = 0; i < count; i++) {
+            queue.postEvent(new MouseEvent(mouseArea, MouseEvent.MOUSE_DRAGGED, System.currentTimeMillis(),
+                    InputEvent.BUTTON1_DOWN_MASK, i % width, (i / width) % height, 0, false));
+        }
+        return count;
+    }
+
+    private long tabCycle() throws Exception {
+        JTabbedPane tabs = find(app, JTabbedPane.class, "mainTabs");
+        int cycles = scaled(200);
+        int tabCount = tabs.getTabCount();
+        for (int c = 0; c < cycles; c++) {
+            for (int t = 0; t < tabCount; t++) {
+                int index = t;
+                EventQueue.invokeLater(() -> tabs.setSelectedIndex(index));
+            }
+        }
+        return (long) cycles * tabCount;
+    }
+
+    private long tableInsert() throws Exception {
+        selectTab("Advanced Events");
+        DefaultTableModel model = (DefaultTableModel) find(app, JTable.class, "eventTable").getModel();
+        int rows = scaled(100_000);
+        int batch = 100;
+        for (int i = 0; i < rows; i += batch) {
+            int first = i;
+            int last = Math.min(rows, i + batch);
+            EventQueue.invokeLater(() -> {
+                for (int r = first; r < last; r++) {
+                    model.addRow(new Object[]{"Row " + r, "Value " + r});
+                }
+            });
+        }
+        return rows;
+    }
+
+    private long treeExpandAll() throws Exception {
+        selectTab("Advanced Events");
+        JTree tree = find(app, JTree.class, "eventTree");
+        int iterations = scaled(2_000);
+        long[] ops = {0};
+        for (int i = 0; i < iterations; i++) {
+            EventQueue.invokeLater(() -> {
+                // Rows grow while expanding, so re-read the count each step
+                for (int row = 0; row < tree.getRowCount(); row++) {
+                    tree.expandRow(row);
+                    ops[0]++;
+                }
+                for (int row = tree.getRowCount() - 1; row > 0; row--) {
+                    tree.collapseRow(row);
+                }
+            });
+        }
+        onEdt(() -> { });
+        return ops[0];
+    }
+
+    private long typingBurst() throws Exception {
+        selectTab("Text Events");
+        JTextArea undoArea = find(app, JTextArea.class, "undoArea");
+        onEdt(() -> {
+            undoArea.requestFocusInWindow();
+            undoArea.setCaretPosition(undoArea.getDocument().getLength());
+        });
+        boolean focused = waitForFocus(undoArea);
+        if (!focused) {
+            System.out.println("  (no keyboard focus; typing through replaceSelection instead of KeyEvents)");
+        }
+
+        EventQueue queue = Toolkit.getDefaultToolkit().getSystemEventQueue();
+        int bursts = 5;
+        int perBurst = scaled(2_000);
+        for (int b = 0; b < bursts; b++) {
+            for (int i = 0; i < perBurst; i++) {
+                char ch = (char) ('a' + i % 26);
+                if (focused) {
+                    long when = System.currentTimeMillis();
+                    int code = KeyEvent.getExtendedKeyCodeForChar(ch);
+                    queue.postEvent(new KeyEvent(undoArea, KeyEvent.KEY_PRESSED, when, 0, code, ch));
+                    queue.postEvent(new KeyEvent(undoArea, KeyEvent.KEY_TYPED, when, 0, KeyEvent.VK_UNDEFINED, ch));
+                    queue.postEvent(new KeyEvent(undoArea, KeyEvent.KEY_RELEASED, when, 0, code, ch));
+                } else {
+                    String text = String.valueOf(ch);
+                    EventQueue.invokeLater(() -> undoArea.replaceSelection(text));
+                }
+            }
+            // Let the burst drain before the next one, like a typist pausing
+            onEdt(() -> { });
+        }
+        return (long) bursts * perBurst;
+    }
+
+    /**
+     * Fills a standalone history (not the app's) and runs the analytics
+     * queries over it; the latency probe shows whether the EDT stays free.
+     */
+    private long historyQuery() throws Exception {
+        String[] listeners = {
+            "MouseMotionListener", "KeyListener", "ComponentListener", "AncestorListener",
+            "CaretListener", "DocumentListener", "ChangeListener", "MouseListener"
+        };
+        int count = scaled(5_000_000);
+        EventHistory history = new EventHistory(count);
+        long end = System.currentTimeMillis();
+        long start = end - 60 * 60_000;
+        double step = (double) (end - start) / count;
+        // This thread is the history's only writer, which is all append() needs
+        for (int i = 0; i < count; i++) {
+            history.append(start + (long) (i * step), listeners[(i * 7 + i / 1000) % listeners.length],
+                    "stateChanged", i % 800, i % 600, EventHistory.NONE);
+        }
+        EventAnalytics analytics = new EventAnalytics(history);
+        analytics.topListeners(0, EventAnalytics.EventFilter.ALL, 10).get();
+        analytics.countPerListenerPerMinute(0, EventAnalytics.EventFilter.ALL).get();
+        return 2L * count;
+    }
+
+    /**
+     * Unbroken typing followed by a paste larger than the whole budget,
+     * against a standalone undo manager; retained bytes must stay capped.
+     */
+    private long undoBudget() throws Exception {
+        long budget = 64 * 1024;
+        int keystrokes = scaled(200_000);
+        long[] worst = {0};
+        onEdt(() -> {
+            PlainDocument doc = new PlainDocument();
+            BoundedUndoManager undoManager = new BoundedUndoManager(budget);
+            doc.addUndoableEditListener(undoManager);
+            try {
+                for (int i = 0; i < keystrokes; i++) {
+                    doc.insertString(doc.getLength(), "x", null);
+                    worst[0] = Math.max(worst[0], undoManager.getRetainedBytes());
+                }
+                char[] paste = new char[(int) budget];
+                Arrays.fill(paste, 'y');
+                doc.insertString(0, new String(paste), null);
+                worst[0] = Math.max(worst[0], undoManager.getRetainedBytes());
+            } catch (BadLocationException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        if (worst[0] > budget) {
+            violations.add(String.format("undoBudget retained %,d bytes with a %,d byte budget", worst[0], budget));
+        }
+        return keystrokes + 1L;
+    }
+
+    // ---- Helpers --------------------------------------------------------
+
+    private int scaled(int count) {
+        return Math.max(1, (int) (count * scale));
+    }
+
+    private void selectTab(String title) throws Exception {
+        onEdt(() -> {
+            JTabbedPane tabs = find(app, JTabbedPane.class, "mainTabs");
+            tabs.setSelectedIndex(tabs.indexOfTab(title));
+        });
+    }
+
+    private static boolean waitForFocus(Component c) throws Exception {
+        for (int i = 0; i < 100; i++) {
+            boolean[] focused = {false};
+            onEdt(() -> focused[0] = c.isFocusOwner());
+            if (focused[0]) {
+                return true;
+            }
+            Thread.sleep(20);
+        }
+        return false;
+    }
+
+    private static <T extends Component> T find(Container root, Class<T> type, String name) {
+        for (Component child : root.getComponents()) {
+            if (type.isInstance(child) && name.equals(child.getName())) {
+                return type.cast(child);
+            }
+            if (child instanceof Container) {
+                T found = find((Container) child, type, name);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        if (root instanceof Window) {
+            throw new IllegalStateException("Component '" + name + "' not found");
+        }
+        return null;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static void printResults(List<Result> results) {
+        System.out.println();
+        System.out.printf("%-15s %14s %10s %10s %10s %14s%n",
+                "Scenario", "ops/s", "p50 ms", "p95 ms", "p99 ms", "heap delta KB");
+        for (Result r : results) {
+            System.out.printf("%-15s %14.1f %10.2f %10.2f %10.2f %14.1f%n",
+                    r.name, r.throughput, r.p50Ms, r.p95Ms, r.p99Ms, r.heapDeltaKb);
+        }
+        System.out.println();
+    }
+
+    private static void writeBaseline(File file, List<Result> results) throws IOException {
+        Properties props = new Properties();
+        for (Result r : results) {
+            props.setProperty(r.name + ".throughput", String.valueOf(r.throughput));
+            props.setProperty(r.name + ".p95Ms", String.valueOf(r.p95Ms));
+            props.setProperty(r.name + ".p99Ms", String.valueOf(r.p99Ms));
+            props.setProperty(r.name + ".heapDeltaKb", String.valueOf(r.heapDeltaKb));
+        }
+        File dir = file.getAbsoluteFile().getParentFile();
+        if (dir != null && !dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Cannot create " + dir);
+        }
+        try (OutputStream out = new FileOutputStream(file)) {
+            props.store(out, "InteractionBenchmark baseline - regenerate with --record on the reference machine");
+        }
+    }
+
+    private static Properties loadBaseline(File file) throws IOException {
+        Properties props = new Properties();
+        try (InputStream in = new FileInputStream(file)) {
+            props.load(in);
+        }
+        return props;
+    }
+
+    /**
+     * Prints one line per metric and returns false if any regressed.
+     */
+    private static boolean compare(List<Result> results, Properties baseline, double tolerance) {
+        boolean ok = true;
+        for (Result r : results) {
+            ok &= check(baseline, r.name + ".throughput", r.throughput, tolerance, 0, false);
+            ok &= check(baseline, r.name + ".p95Ms", r.p95Ms, tolerance, LATENCY_SLACK_MS, true);
+            ok &= check(baseline, r.name + ".p99Ms", r.p99Ms, tolerance, LATENCY_SLACK_MS, true);
+            ok &= check(baseline, r.name + ".heapDeltaKb", r.heapDeltaKb, tolerance, HEAP_SLACK_KB, true);
+        }
+        System.out.println(ok ? "No regressions beyond " + (int) (tolerance * 100) + "%"
+                : "REGRESSIONS DETECTED");
+        return ok;
+    }
+
+    private static boolean check(Properties baseline, String key, double actual, double tolerance,
+            double slack, boolean lowerIsBetter) {
+        String stored = baseline.getProperty(key);
+        if (stored == null) {
+            System.out.printf("  %-28s %12.2f  (no baseline)%n", key, actual);
+            return true;
+        }
+        double expected = Double.parseDouble(stored);
+        boolean regressed = lowerIsBetter
+                ? actual > expected * (1 + tolerance) + slack
+                : actual < expected * (1 - tolerance);
+        System.out.printf("  %-28s %12.2f  baseline %12.2f  %s%n", key, actual, expected,
+                regressed ? "REGRESSION" : "ok");
+        return !regressed;
+    }
+}
@@ -0,0 +1,386 @@
+package javaGuiEventListenersDemo;
+
+import javax.swing.*;
+import javax.swing.event.HyperlinkEvent;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.Element;
+import javax.swing.text.Position;
+import javax.swing.text.html.HTML;
+import javax.swing.text.html.HTMLDocument;
+import javax.swing.text.html.HTMLEditorKit;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseListener;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Large-Document Mode for an HTML JEditorPane
+ *
+ * setText() parses the whole page on the EDT, which freezes the UI for any
+ * realistic file. This loader installs an empty HTMLDocument first and then
+ * parses the file on a background thread, the same way JEditorPane.setPage()
+ * does for asynchronous loads: the document flushes parsed content in chunks
+ * of tokenThreshold tokens, and AbstractDocument's locking keeps the EDT
+ * free to paint and handle input in between.
+ *
+ * Once parsing finishes, all anchor elements are collected into an offset
+ * index, still on the background thread under the document's read lock, and
+ * the kit's LinkController is swapped for one that resolves links with a
+ * binary search instead of walking element attributes on every mouse move.
+ *
+ * The file is decoded with the charset its meta tag declares (UTF-16 when it
+ * starts with a UTF-16 byte order mark, UTF-8 when it declares none or an
+ * unsupported one). The parser is told to ignore the
+ * directive afterwards, because the reader is already decoding with it.
+ */
+class LargeHtmlLoader {
+
+    /** Tokens parsed before the first flush into the document. */
+    private static final int TOKEN_THRESHOLD = 200;
+
+    /** How much of the file is searched for a meta charset declaration. */
+    private static final int CHARSET_SNIFF_BYTES = 4096;
+
+    private static final Pattern META_CHARSET =
+            Pattern.compile("<meta[^>]*charset\\s*=\\s*[\"']?([\\w.:-]+)", Pattern.CASE_INSENSITIVE);
+
+    private final JEditorPane editor;
+    private final EventLogger logger;
+    private final IndexedLinkController linkController = new IndexedLinkController();
+    private SwingWorker<AnchorIndex, Void> currentLoad;
+
+    LargeHtmlLoader(JEditorPane editor, EventLogger logger) {
+        this.editor = editor;
+        this.logger = logger;
+    }
+
+    /**
+     * Starts loading the file, cancelling any load still in progress. Must be
+     * called on the EDT.
+     */
+    void load(File file) {
+        if (currentLoad != null) {
+            currentLoad.cancel(false);
+        }
+
+        HTMLEditorKit kit = (HTMLEditorKit) editor.getEditorKit();
+        HTMLDocument doc = (HTMLDocument) kit.createDefaultDocument();
+        doc.setAsynchronousLoadPriority(Thread.MIN_PRIORITY);
+        doc.setTokenThreshold(TOKEN_THRESHOLD);
+        doc.putProperty("IgnoreCharsetDirective", Boolean.TRUE);
+        try {
+            URL base = file.toURI().toURL();
+            doc.setBase(base);
+            doc.putProperty(Document.StreamDescriptionProperty, base);
+        } catch (MalformedURLException ignored) {
+        }
+
+        linkController.uninstall();
+        editor.setDocument(doc);
+        logger.logEvent("LargeHtmlLoader", "loadStarted",
+                "File: " + file.getName() + " (" + file.length() / 1024 + " KB)");
+
+        long start = System.nanoTime();
+        SwingWorker<AnchorIndex, Void> worker = new SwingWorker<AnchorIndex, Void>() {
+            private Charset charset;
+
+            @Override
+            protected AnchorIndex doInBackground() throws Exception {
+                charset = detectCharset(file);
+                try (Reader in = new CancellableReader(new InputStreamReader(
+                        new FileInputStream(file), charset), this)) {
+                    kit.read(in, doc, 0);
+                }
+                // Walking every element is too slow for the EDT on multi-MB pages
+                return AnchorIndex.build(doc);
+            }
+
+            @Override
+            protected void done() {
+                if (isCancelled() || currentLoad != this) {
+                    return;
+                }
+                AnchorIndex index;
+                try {
+                    index = get();
+                } catch (Exception ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    logger.logEvent("LargeHtmlLoader", "loadFailed", cause.toString());
+                    return;
+                }
+
+                linkController.install(doc, index);
+                logger.logEvent("LargeHtmlLoader", "loadComplete", String.format(
+                        "%d chars (%s), %d anchors indexed in %d ms", doc.getLength(), charset.name(),
+                        index.size(), (System.nanoTime() - start) / 1_000_000));
+            }
+        };
+        currentLoad = worker;
+        worker.execute();
+    }
+
+    /**
+     * Charset declared by a meta tag near the start of the file, or UTF-8.
+     */
+    static Charset detectCharset(File file) throws IOException {
+        byte[] head = new byte[CHARSET_SNIFF_BYTES];
+        int n = 0;
+        try (InputStream in = new FileInputStream(file)) {
+            int read;
+            while (n < head.length && (read = in.read(head, n, head.length - n)) > 0) {
+                n += read;
+            }
+        }
+        if (n >= 2 && ((head[0] == (byte) 0xFE && head[1] == (byte) 0xFF)
+                || (head[0] == (byte) 0xFF && head[1] == (byte) 0xFE))) {
+            // The UTF-16 decoder consumes the byte order mark itself
+            return StandardCharsets.UTF_16;
+        }
+        // Without a UTF-16 BOM the text up to the meta tag is ASCII in any likely charset
+        Matcher m = META_CHARSET.matcher(new String(head, 0, n, StandardCharsets.ISO_8859_1));
+        if (m.find()) {
+            try {
+                return Charset.forName(m.group(1));
+            } catch (IllegalArgumentException unsupported) {
+                // Fall through to the default
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    /**
+     * Reader that fails fast once its load has been cancelled, so a
+     * superseded parse does not keep running to the end of the file.
+     */
+    private static class CancellableReader extends FilterReader {
+
+        private final SwingWorker<?, ?> worker;
+
+        CancellableReader(Reader in, SwingWorker<?, ?> worker) {
+            super(in);
+            this.worker = worker;
+        }
+
+        @Override
+        public int read(char[] buf, int off, int len) throws IOException {
+            if (worker.isCancelled()) {
+                throw new IOException("Load cancelled");
+            }
+            return super.read(buf, off, len);
+        }
+    }
+
+    /**
+     * Sorted, non-overlapping offset ranges of every anchor run in a
+     * document, with the href of each.
+     */
+    static class AnchorIndex {
+
+        private int[] starts = new int[64];
+        private int[] ends = new int[64];
+        private String[] hrefs = new String[64];
+        private int size = 0;
+
+        static AnchorIndex build(HTMLDocument doc) {
+            AnchorIndex index = new AnchorIndex();
+            doc.render(() -> {
+                for (HTMLDocument.Iterator it = doc.getIterator(HTML.Tag.A); it.isValid(); it.next()) {
+                    Object href = it.getAttributes().getAttribute(HTML.Attribute.HREF);
+                    if (href != null) {
+                        index.add(it.getStartOffset(), it.getEndOffset(), href.toString());
+                    }
+                }
+            });
+            return index;
+        }
+
+        private void add(int start, int end, String href) {
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+                hrefs = Arrays.copyOf(hrefs, size * 2);
+            }
+            starts[size] = start;
+            ends[size] = end;
+            hrefs[size] = href;
+            size++;
+        }
+
+        int size() {
+            return size;
+        }
+
+        /**
+         * Index of the anchor run containing the offset, or -1.
+         */
+        int find(int offset) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] <= offset) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return high >= 0 && offset < ends[high] ? high : -1;
+        }
+
+        int start(int i) {
+            return starts[i];
+        }
+
+        String href(int i) {
+            return hrefs[i];
+        }
+    }
+
+    /**
+     * Replacement for HTMLEditorKit.LinkController that hit-tests against an
+     * AnchorIndex and fires the same HyperlinkEvents.
+     */
+    private class IndexedLinkController extends MouseAdapter {
+
+        private HTMLDocument doc;
+        private AnchorIndex index;
+        private int current = -1;
+        // The kit's own controller, put back by uninstall() so links keep working between loads
+        private HTMLEditorKit.LinkController replaced;
+
+        void install(HTMLDocument doc, AnchorIndex index) {
+            this.doc = doc;
+            this.index = index;
+            this.current = -1;
+            for (MouseListener listener : editor.getMouseListeners()) {
+                if (listener instanceof HTMLEditorKit.LinkController) {
+                    replaced = (HTMLEditorKit.LinkController) listener;
+                    editor.removeMouseListener(replaced);
+                    editor.removeMouseMotionListener(replaced);
+                }
+            }
+            editor.addMouseListener(this);
+            editor.addMouseMotionListener(this);
+        }
+
+        void uninstall() {
+            if (doc == null) {
+                return;
+            }
+            editor.removeMouseListener(this);
+            editor.removeMouseMotionListener(this);
+            editor.setCursor(Cursor.getDefaultCursor());
+            if (replaced != null) {
+                editor.addMouseListener(replaced);
+                editor.addMouseMotionListener(replaced);
+                replaced = null;
+            }
+            doc = null;
+            index = null;
+            current = -1;
+        }
+
+        @Override
+        public void mouseMoved(MouseEvent e) {
+            int hit = hitTest(e.getPoint());
+            if (hit == current) {
+                return;
+            }
+            if (current >= 0) {
+                fire(HyperlinkEvent.EventType.EXITED, current, e);
+            }
+            current = hit;
+            if (hit >= 0) {
+                fire(HyperlinkEvent.EventType.ENTERED, hit, e);
+            }
+            editor.setCursor(hit >= 0 ? Cursor.getPredefinedCursor(Cursor.HAND_CURSOR) : Cursor.getDefaultCursor());
+        }
+
+        @Override
+        public void mouseExited(MouseEvent e) {
+            if (current >= 0) {
+                fire(HyperlinkEvent.EventType.EXITED, current, e);
+                current = -1;
+                editor.setCursor(Cursor.getDefaultCursor());
+            }
+        }
+
+        @Override
+        public void mouseClicked(MouseEvent e) {
+            if (SwingUtilities.isLeftMouseButton(e)) {
+                int hit = hitTest(e.getPoint());
+                if (hit >= 0) {
+                    fire(HyperlinkEvent.EventType.ACTIVATED, hit, e);
+                }
+            }
+        }
+
+        // viewToModel2D replaces this only from Java 9; the project targets Java 8
+        @SuppressWarnings("deprecation")
+        private int hitTest(Point p) {
+            int offset = editor.viewToModel(p);
+            if (offset < 0) {
+                return -1;
+            }
+            // viewToModel snaps to the nearest boundary, so the point is on the
+            // character after it, the one before it, or on neither (e.g. past the line end)
+            for (int candidate = offset; candidate >= Math.max(0, offset - 1); candidate--) {
+                Rectangle r = characterBounds(candidate);
+                if (r != null && r.contains(p)) {
+                    return index.find(candidate);
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Box of the character at offset, or null if it has no width on screen.
+         */
+        // modelToView2D replaces this only from Java 9; the project targets Java 8
+        @SuppressWarnings("deprecation")
+        private Rectangle characterBounds(int offset) {
+            if (offset >= doc.getLength()) {
+                return null;
+            }
+            try {
+                Rectangle r = editor.getUI().modelToView(editor, offset, Position.Bias.Forward);
+                // Backward bias keeps the end on this character's line even where the line wraps
+                Rectangle end = editor.getUI().modelToView(editor, offset + 1, Position.Bias.Backward);
+                if (r == null || end == null || end.y != r.y || end.x <= r.x) {
+                    return null;
+                }
+                r.add(end);
+                return r;
+            } catch (BadLocationException ex) {
+                return null;
+            }
+        }
+
+        private void fire(HyperlinkEvent.EventType type, int anchor, MouseEvent e) {
+            String href = index.href(anchor);
+            URL url;
+            try {
+                url = new URL(doc.getBase(), href);
+            } catch (MalformedURLException ex) {
+                url = null;
+            }
+            Element source = doc.getCharacterElement(index.start(anchor));
+            editor.fireHyperlinkUpdate(new HyperlinkEvent(editor, type, url, href, source, e));
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package javaGuiEventListenersDemo;
+
+import javax.swing.AbstractListModel;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compressed Event Log Archive
+ *
+ * A JTextArea keeps its whole history as UTF-16 chars plus one element per
+ * line, which is far too much for hours of events. Here the log is a list
+ * model split into segments of SEGMENT_LINES lines: the hot tail is a plain
+ * list of Strings, and every full segment is sealed into a Deflater-compressed
+ * UTF-8 block. Log lines repeat heavily, so sealed segments are typically an
+ * order of magnitude smaller than the text they hold.
+ *
+ * A JList only asks for the rows it displays, so scrolling back into old
+ * history inflates just the segments on screen; the last few are kept in a
+ * small LRU cache so scrolling around them stays cheap.
+ *
+ * EDT only, like every other Swing model.
+ */
+class LogArchive extends AbstractListModel<String> {
+
+    static final int SEGMENT_LINES = 1024;
+
+    /** Decompressed segments kept for scroll-back. */
+    private static final int CACHE_SEGMENTS = 8;
+
+    private final long maxLines;
+    private final List<SealedSegment> sealed = new ArrayList<>();
+    private final List<String> hot = new ArrayList<>(SEGMENT_LINES);
+    private final Map<SealedSegment, String[]> cache =
+            new LinkedHashMap<SealedSegment, String[]>(CACHE_SEGMENTS * 2, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<SealedSegment, String[]> eldest) {
+                    return size() > CACHE_SEGMENTS;
+                }
+            };
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final Inflater inflater = new Inflater();
+    private final byte[] buffer = new byte[64 * 1024];
+
+    // Index of the first retained line since the archive was created
+    private long firstLine = 0;
+    private long compressedBytes = 0;
+    private long rawBytes = 0;
+    private long cacheHits = 0;
+    private long cacheMisses = 0;
+
+    // Rows listeners have been told about, and rows dropped from the front
+    // since the last flush(); notifications are only sent from flush()
+    private int announced = 0;
+    private int droppedSinceFlush = 0;
+
+    LogArchive(long maxLines) {
+        this.maxLines = Math.max(SEGMENT_LINES * 2L, maxLines);
+    }
+
+    /**
+     * Adds a line, possibly dropping the oldest segment, without notifying
+     * listeners; call {@link #flush()} once a batch is complete.
+     */
+    void append(String line) {
+        // Sealed segments are newline-delimited
+        hot.add(line.indexOf('\n') >= 0 ? line.replace('\n', ' ') : line);
+        if (hot.size() == SEGMENT_LINES) {
+            seal();
+        }
+    }
+
+    /**
+     * Notifies listeners about lines appended or dropped since the last call.
+     * Removals are reported first and only for rows that were announced, so
+     * the listeners' row count never goes out of step with the model's.
+     */
+    void flush() {
+        int removed = Math.min(droppedSinceFlush, announced);
+        droppedSinceFlush = 0;
+        if (removed > 0) {
+            announced -= removed;
+            // The surviving announced rows are now the first ones of the model
+            fireIntervalRemoved(this, 0, removed - 1);
+        }
+        int size = getSize();
+        if (size > announced) {
+            int from = announced;
+            announced = size;
+            fireIntervalAdded(this, from, size - 1);
+        }
+    }
+
+    void clear() {
+        int size = announced;
+        sealed.clear();
+        hot.clear();
+        cache.clear();
+        firstLine = 0;
+        compressedBytes = 0;
+        rawBytes = 0;
+        announced = 0;
+        droppedSinceFlush = 0;
+        if (size > 0) {
+            fireIntervalRemoved(this, 0, size - 1);
+        }
+    }
+
+    @Override
+    public int getSize() {
+        return sealed.size() * SEGMENT_LINES + hot.size();
+    }
+
+    @Override
+    public String getElementAt(int index) {
+        int segment = index / SEGMENT_LINES;
+        int offset = index % SEGMENT_LINES;
+        if (segment == sealed.size()) {
+            return hot.get(offset);
+        }
+        return lines(sealed.get(segment))[offset];
+    }
+
+    String getStatsText() {
+        long lines = getSize();
+        long hotBytes = 0;
+        for (String line : hot) {
+            hotBytes += line.length() * 2L;
+        }
+        return String.format("%,d lines (%,d dropped), %d sealed segments, %.1f KB compressed from %.1f KB "
+                + "(%.1fx), hot tail %.1f KB, cache %d hits / %d misses",
+                lines, firstLine, sealed.size(), compressedBytes / 1024.0, rawBytes / 1024.0,
+                compressedBytes > 0 ? (double) rawBytes / compressedBytes : 0.0,
+                hotBytes / 1024.0, cacheHits, cacheMisses);
+    }
+
+    private String[] lines(SealedSegment segment) {
+        String[] lines = cache.get(segment);
+        if (lines != null) {
+            cacheHits++;
+            return lines;
+        }
+        cacheMisses++;
+        lines = inflate(segment);
+        cache.put(segment, lines);
+        return lines;
+    }
+
+    private void seal() {
+        StringBuilder sb = new StringBuilder(hot.size() * 80);
+        for (String line : hot) {
+            sb.append(line).append('\n');
+        }
+        byte[] raw = sb.toString().getBytes(StandardCharsets.UTF_8);
+
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4);
+        while (!deflater.finished()) {
+            int n = deflater.deflate(buffer);
+            out.write(buffer, 0, n);
+        }
+
+        SealedSegment segment = new SealedSegment(out.toByteArray(), raw.length);
+        sealed.add(segment);
+        compressedBytes += segment.data.length;
+        rawBytes += raw.length;
+        // The lines are still in hand, so prime the cache for the likely next read
+        cache.put(segment, hot.toArray(new String[0]));
+        hot.clear();
+
+        if (getSize() > maxLines) {
+            // Shifting the segment list happens once per SEGMENT_LINES appends
+            SealedSegment dropped = sealed.remove(0);
+            cache.remove(dropped);
+            compressedBytes -= dropped.data.length;
+            rawBytes -= dropped.rawLength;
+            firstLine += SEGMENT_LINES;
+            droppedSinceFlush += SEGMENT_LINES;
+        }
+    }
+
+    private String[] inflate(SealedSegment segment) {
+        byte[] raw = new byte[segment.rawLength];
+        inflater.reset();
+        inflater.setInput(segment.data);
+        try {
+            int n = 0;
+            while (n < raw.length && !inflater.finished()) {
+                n += inflater.inflate(raw, n, raw.length - n);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt log segment", e);
+        }
+        String text = new String(raw, StandardCharsets.UTF_8);
+        String[] lines = new String[SEGMENT_LINES];
+        int start = 0;
+        for (int i = 0; i < SEGMENT_LINES; i++) {
+            int end = text.indexOf('\n', start);
+            lines[i] = text.substring(start, end);
+            start = end + 1;
+        }
+        return lines;
+    }
+
+    private static final class SealedSegment {
+
+        final byte[] data;
+        final int rawLength;
+
+        SealedSegment(byte[] data, int rawLength) {
+            this.data = data;
+            this.rawLength = rawLength;
+        }
+    }
+}
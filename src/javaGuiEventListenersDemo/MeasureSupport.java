@@ -0,0 +1,41 @@
+package javaGuiEventListenersDemo;
+
+import javax.swing.SwingUtilities;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+/**
+ * Measurement Helpers
+ *
+ * Shared by the harnesses that drive the app from a non-EDT thread and
+ * measure it: InteractionBenchmark and WindowStressTest.
+ */
+final class MeasureSupport {
+
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    private MeasureSupport() {
+    }
+
+    /**
+     * Runs r on the EDT and waits for it, so everything posted before has
+     * been processed too.
+     */
+    static void onEdt(Runnable r) throws Exception {
+        SwingUtilities.invokeAndWait(r);
+    }
+
+    /**
+     * Requests a few collections so heap readings are comparable.
+     */
+    static void settleHeap() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+    }
+
+    static long usedHeap() {
+        return MEMORY.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,125 @@
+package javaGuiEventListenersDemo;
+
+import javax.swing.ButtonModel;
+import javax.swing.Timer;
+import java.util.Objects;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Model Change Coalescing
+ *
+ * Swing models notify on every intermediate value: a slider fires for every
+ * pixel of a drag, a spinner for every auto-repeat step, and a ButtonModel
+ * for armed, pressed and rollover changes that leave the selection alone.
+ * The raw listener only calls {@link #changed()}; the coalescer decides when
+ * the value has settled and passes it on once, together with how many
+ * notifications were swallowed on the way.
+ *
+ * A model that can say it is mid-gesture (getValueIsAdjusting, or a pressed
+ * button) settles as soon as the gesture ends and needs no timer. Anything
+ * else settles after windowMillis without a further notification. A settled
+ * value equal to the last one passed on is dropped as a duplicate, and the
+ * notifications behind it are discarded with it rather than being added to
+ * the next, unrelated change. EDT only.
+ */
+class ModelChangeCoalescer<T> {
+
+    /**
+     * Receives settled values.
+     */
+    @FunctionalInterface
+    interface SettledListener<T> {
+
+        /**
+         * @param previous last value passed on (the initial value at first)
+         * @param value the settled value
+         * @param suppressed notifications absorbed since the previous value
+         */
+        void settled(T previous, T value, int suppressed);
+    }
+
+    /** Settle delay for models without an adjusting flag. */
+    static final int DEFAULT_WINDOW_MILLIS = Integer.getInteger("eventdemo.coalesce.window", 200);
+
+    private final Supplier<T> state;
+    private final SettledListener<T> listener;
+    // Exactly one of these is set
+    private final BooleanSupplier adjusting;
+    private final Timer settleTimer;
+    private T lastValue;
+    private int pending = 0;
+
+    /**
+     * Settles after windowMillis without a further notification.
+     *
+     * @param state reads the model's current value
+     */
+    ModelChangeCoalescer(Supplier<T> state, int windowMillis, SettledListener<T> listener) {
+        this.state = state;
+        this.listener = listener;
+        this.lastValue = state.get();
+        this.adjusting = null;
+        this.settleTimer = new Timer(windowMillis, e -> settle());
+        settleTimer.setRepeats(false);
+    }
+
+    /**
+     * Settles on the first notification after the gesture ends.
+     *
+     * @param state reads the model's current value
+     * @param adjusting true while a gesture is in progress
+     */
+    ModelChangeCoalescer(Supplier<T> state, BooleanSupplier adjusting, SettledListener<T> listener) {
+        this.state = state;
+        this.listener = listener;
+        this.lastValue = state.get();
+        this.adjusting = adjusting;
+        this.settleTimer = null;
+    }
+
+    /**
+     * Coalesces on the default time window, e.g. a spinner or a progress bar.
+     */
+    static <T> ModelChangeCoalescer<T> windowed(Supplier<T> state, SettledListener<T> listener) {
+        return new ModelChangeCoalescer<>(state, DEFAULT_WINDOW_MILLIS, listener);
+    }
+
+    /**
+     * Coalesces a ButtonModel to its selected and enabled bits; rollover and
+     * armed changes alone never settle into a new value, and a press settles
+     * on release.
+     */
+    static ModelChangeCoalescer<Integer> forButtonModel(ButtonModel model, SettledListener<Integer> listener) {
+        return new ModelChangeCoalescer<>(() -> (model.isSelected() ? 1 : 0) | (model.isEnabled() ? 2 : 0),
+                model::isPressed, listener);
+    }
+
+    /**
+     * Call from the model's raw listener.
+     */
+    void changed() {
+        pending++;
+        if (settleTimer != null) {
+            settleTimer.restart();
+        } else if (!adjusting.getAsBoolean()) {
+            settle();
+        }
+    }
+
+    private void settle() {
+        if (pending == 0) {
+            return;
+        }
+        T value = state.get();
+        int suppressed = pending - 1;
+        pending = 0;
+        if (Objects.equals(value, lastValue)) {
+            // Same state as last time: every notification was noise
+            return;
+        }
+        T previous = lastValue;
+        lastValue = value;
+        listener.settled(previous, value, suppressed);
+    }
+}
@@ -0,0 +1,349 @@
+package javaGuiEventListenersDemo;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Instrumented RepaintManager
+ *
+ * Records every addDirtyRegion() call (component, rectangle and the caller
+ * that asked for it) and times each paintDirtyRegions() pass. The result is a
+ * per-component report of repaint requests, painted pixel area and paint
+ * time, plus an optional overlay that briefly flashes each painted region.
+ *
+ * Like Swing itself, a pass merges a component's requests into one bounding
+ * rectangle; clipped to the visible part of the component, that is the area
+ * counted as painted, so overlapping or off-screen requests are not counted
+ * twice. A pass paints all dirty components in one go, so its time is shared
+ * out between them in proportion to that area.
+ *
+ * Enable with -Deventdemo.repaintProfile=true. Finding the caller walks the
+ * stack on every request, so this is a diagnostic mode, not something to
+ * leave on.
+ */
+class ProfilingRepaintManager extends RepaintManager {
+
+    /** How long a painted region stays visible on the overlay. */
+    private static final long FLASH_MILLIS = 400;
+
+    private final Map<JComponent, Stats> stats = new WeakHashMap<>();
+    private List<Pending> pending = new ArrayList<>();
+    private long passCount = 0;
+    private long totalPaintNanos = 0;
+
+    // EDT only; one overlay per frame, reused across enable/disable
+    private final Map<JFrame, DirtyRegionOverlay> overlays = new HashMap<>();
+
+    /**
+     * Replaces the current RepaintManager. Call on the EDT before any
+     * component is created.
+     */
+    static ProfilingRepaintManager install() {
+        ProfilingRepaintManager manager = new ProfilingRepaintManager();
+        RepaintManager.setCurrentManager(manager);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> System.out.println(manager.report()),
+                "repaint-report"));
+        return manager;
+    }
+
+    /**
+     * The installed profiler, or null when profiling is off.
+     */
+    static ProfilingRepaintManager current(JComponent c) {
+        RepaintManager manager = RepaintManager.currentManager(c);
+        return manager instanceof ProfilingRepaintManager ? (ProfilingRepaintManager) manager : null;
+    }
+
+    @Override
+    public void addDirtyRegion(JComponent c, int x, int y, int w, int h) {
+        if (!(c instanceof DirtyRegionOverlay) && w > 0 && h > 0) {
+            Rectangle dirty = new Rectangle(x, y, w, h);
+            String category = callerCategory();
+            synchronized (this) {
+                Stats s = stats.get(c);
+                if (s == null) {
+                    s = new Stats(describe(c));
+                    stats.put(c, s);
+                }
+                s.requests++;
+                int[] count = s.categories.get(category);
+                if (count == null) {
+                    s.categories.put(category, new int[]{1});
+                } else {
+                    count[0]++;
+                }
+                pending.add(new Pending(c, dirty));
+            }
+        }
+        super.addDirtyRegion(c, x, y, w, h);
+    }
+
+    @Override
+    public void paintDirtyRegions() {
+        List<Pending> pass;
+        synchronized (this) {
+            pass = pending;
+            pending = new ArrayList<>();
+        }
+        // Clipped before painting, against the layout the pass paints
+        Map<JComponent, Rectangle> painted = paintedRegions(pass);
+        long start = System.nanoTime();
+        super.paintDirtyRegions();
+        long elapsed = System.nanoTime() - start;
+
+        if (pass.isEmpty()) {
+            // Only the overlay (or nothing we track) was painted
+            return;
+        }
+
+        long passArea = 0;
+        for (Rectangle r : painted.values()) {
+            passArea += area(r);
+        }
+        synchronized (this) {
+            passCount++;
+            totalPaintNanos += elapsed;
+            for (Map.Entry<JComponent, Rectangle> entry : painted.entrySet()) {
+                Stats s = stats.get(entry.getKey());
+                if (s == null) {
+                    continue;
+                }
+                long area = area(entry.getValue());
+                s.paintedArea += area;
+                s.paintNanos += passArea > 0 ? elapsed * area / passArea : elapsed / painted.size();
+                s.passes++;
+            }
+        }
+
+        if (!overlays.isEmpty()) {
+            for (Map.Entry<JComponent, Rectangle> entry : painted.entrySet()) {
+                flash(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Bounding rectangle of each component's requests in this pass, clipped
+     * to its visible rectangle (empty when nothing of it is on screen).
+     */
+    private static Map<JComponent, Rectangle> paintedRegions(List<Pending> pass) {
+        Map<JComponent, Rectangle> unions = new HashMap<>();
+        for (Pending p : pass) {
+            Rectangle union = unions.get(p.component);
+            if (union == null) {
+                unions.put(p.component, new Rectangle(p.rect));
+            } else {
+                union.add(p.rect);
+            }
+        }
+        for (Map.Entry<JComponent, Rectangle> entry : unions.entrySet()) {
+            entry.setValue(entry.getValue().intersection(entry.getKey().getVisibleRect()));
+        }
+        return unions;
+    }
+
+    private static long area(Rectangle r) {
+        return r.isEmpty() ? 0 : (long) r.width * r.height;
+    }
+
+    /**
+     * Turns the dirty-region overlay on or off for the given frame.
+     */
+    void setOverlayEnabled(JFrame frame, boolean enabled) {
+        DirtyRegionOverlay overlay = overlays.get(frame);
+        if (enabled && overlay == null) {
+            overlay = new DirtyRegionOverlay(frame.getGlassPane());
+            frame.setGlassPane(overlay);
+            overlay.setVisible(true);
+            overlays.put(frame, overlay);
+        } else if (!enabled && overlay != null) {
+            overlays.remove(frame);
+            overlay.clear();
+            // setGlassPane() hands the outgoing pane's visibility to the incoming one
+            overlay.setVisible(overlay.originalVisible);
+            frame.setGlassPane(overlay.original);
+        }
+    }
+
+    synchronized void reset() {
+        stats.clear();
+        passCount = 0;
+        totalPaintNanos = 0;
+    }
+
+    /**
+     * Per-component summary, busiest painter first.
+     */
+    synchronized String report() {
+        List<Stats> rows = new ArrayList<>(stats.values());
+        rows.sort((a, b) -> Long.compare(b.paintNanos, a.paintNanos));
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Repaint profile: %d paint passes, %.1f ms total paint time%n",
+                passCount, totalPaintNanos / 1e6));
+        sb.append(String.format("%-40s %9s %7s %14s %10s  %s%n",
+                "Component", "Requests", "Passes", "Pixels", "Paint ms", "Top caller"));
+        for (Stats s : rows) {
+            sb.append(String.format("%-40s %9d %7d %14d %10.2f  %s%n",
+                    truncate(s.name, 40), s.requests, s.passes, s.paintedArea, s.paintNanos / 1e6, s.topCategory()));
+        }
+        return sb.toString();
+    }
+
+    private void flash(JComponent c, Rectangle r) {
+        if (r.isEmpty() || !c.isShowing()) {
+            return;
+        }
+        for (DirtyRegionOverlay overlay : overlays.values()) {
+            if (SwingUtilities.getRootPane(c) == overlay.getRootPane()) {
+                overlay.flash(SwingUtilities.convertRectangle(c, r, overlay));
+            }
+        }
+    }
+
+    /**
+     * Names the code that asked for the repaint: the first frame outside the
+     * JDK and this class, grouped into app code, look and feel, or Swing
+     * itself.
+     */
+    private static String callerCategory() {
+        StackTraceElement[] stack = new Throwable().getStackTrace();
+        for (StackTraceElement frame : stack) {
+            String cls = frame.getClassName();
+            if (cls.startsWith("java.") || cls.startsWith("javax.") || cls.startsWith("sun.")
+                    || cls.startsWith("com.sun.") || cls.startsWith("jdk.")
+                    || cls.equals(ProfilingRepaintManager.class.getName())) {
+                continue;
+            }
+            if (cls.startsWith("com.formdev.")) {
+                return "Look and feel";
+            }
+            return cls.substring(cls.lastIndexOf('.') + 1) + "." + frame.getMethodName();
+        }
+        return "Swing internal";
+    }
+
+    private static String describe(JComponent c) {
+        String type = c.getClass().getSimpleName();
+        if (type.isEmpty()) {
+            type = c.getClass().getSuperclass().getSimpleName() + " (anonymous)";
+        }
+        return c.getName() != null ? type + " '" + c.getName() + "'" : type;
+    }
+
+    private static String truncate(String s, int max) {
+        return s.length() <= max ? s : s.substring(0, max - 3) + "...";
+    }
+
+    private static class Pending {
+
+        final JComponent component;
+        final Rectangle rect;
+
+        Pending(JComponent component, Rectangle rect) {
+            this.component = component;
+            this.rect = rect;
+        }
+    }
+
+    private static class Stats {
+
+        final String name;
+        final Map<String, int[]> categories = new HashMap<>();
+        long requests;
+        long passes;
+        long paintedArea;
+        long paintNanos;
+
+        Stats(String name) {
+            this.name = name;
+        }
+
+        String topCategory() {
+            String top = "-";
+            int max = 0;
+            for (Map.Entry<String, int[]> entry : categories.entrySet()) {
+                if (entry.getValue()[0] > max) {
+                    top = entry.getKey();
+                    max = entry.getValue()[0];
+                }
+            }
+            return top + " (" + max + ")";
+        }
+    }
+
+    /**
+     * Glass pane that draws recently painted regions with a fading outline.
+     * It has no mouse listeners, so input passes straight through it.
+     */
+    private static class DirtyRegionOverlay extends JComponent {
+
+        /** The frame's glass pane before this overlay replaced it. */
+        final Component original;
+        final boolean originalVisible;
+        private final List<Rectangle> rects = new ArrayList<>();
+        private final List<Long> times = new ArrayList<>();
+        private final Timer fadeTimer = new Timer(40, e -> fade());
+
+        DirtyRegionOverlay(Component original) {
+            this.original = original;
+            this.originalVisible = original.isVisible();
+            setOpaque(false);
+        }
+
+        void clear() {
+            fadeTimer.stop();
+            rects.clear();
+            times.clear();
+        }
+
+        void flash(Rectangle r) {
+            rects.add(r);
+            times.add(System.currentTimeMillis());
+            if (!fadeTimer.isRunning()) {
+                fadeTimer.start();
+            }
+        }
+
+        private void fade() {
+            // Expired regions are inside the bounds too, so they get erased
+            Rectangle bounds = null;
+            long now = System.currentTimeMillis();
+            Iterator<Rectangle> r = rects.iterator();
+            Iterator<Long> t = times.iterator();
+            while (t.hasNext()) {
+                Rectangle rect = r.next();
+                bounds = bounds == null ? new Rectangle(rect) : bounds.union(rect);
+                if (now - t.next() > FLASH_MILLIS) {
+                    r.remove();
+                    t.remove();
+                }
+            }
+            if (rects.isEmpty()) {
+                fadeTimer.stop();
+            }
+            if (bounds != null) {
+                repaint(bounds);
+            }
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            long now = System.currentTimeMillis();
+            for (int i = 0; i < rects.size(); i++) {
+                float life = 1f - Math.min(1f, (now - times.get(i)) / (float) FLASH_MILLIS);
+                Rectangle r = rects.get(i);
+                g.setColor(new Color(1f, 0f, 0f, 0.25f * life));
+                g.fillRect(r.x, r.y, r.width, r.height);
+                g.setColor(new Color(1f, 0f, 0f, life));
+                g.drawRect(r.x, r.y, r.width - 1, r.height - 1);
+            }
+        }
+    }
+}
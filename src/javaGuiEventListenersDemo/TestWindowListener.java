@@ -0,0 +1,113 @@
+package javaGuiEventListenersDemo;
+
+import java.awt.Frame;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+
+/**
+ * Shared Test Window Listener
+ *
+ * One shared instance serves as WindowListener, WindowFocusListener and
+ * WindowStateListener for every test window, so opening a window attaches
+ * existing objects instead of allocating three new listeners each time. It
+ * keeps no per-window state and no window references; its only state is a
+ * running count of the events it has seen, which the window stress test
+ * reads for its throughput figures, and a switch to pause logging.
+ *
+ * Window events are dispatched on the EDT, and so is every call here.
+ */
+class TestWindowListener extends WindowAdapter {
+
+    private final EventLogger logger;
+    private long eventCount = 0;
+    private boolean logging = true;
+
+    TestWindowListener(EventLogger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * Attaches this listener for all three window listener types.
+     */
+    void attach(Frame frame) {
+        frame.addWindowListener(this);
+        frame.addWindowFocusListener(this);
+        frame.addWindowStateListener(this);
+    }
+
+    void detach(Frame frame) {
+        frame.removeWindowListener(this);
+        frame.removeWindowFocusListener(this);
+        frame.removeWindowStateListener(this);
+    }
+
+    long getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * Whether events are written to the event log or only counted.
+     */
+    void setLogging(boolean logging) {
+        this.logging = logging;
+    }
+
+    @Override
+    public void windowOpened(WindowEvent e) {
+        log("WindowListener (Test)", "windowOpened", "Test window opened");
+    }
+
+    @Override
+    public void windowClosing(WindowEvent e) {
+        log("WindowListener (Test)", "windowClosing", "Test window closing");
+    }
+
+    @Override
+    public void windowClosed(WindowEvent e) {
+        log("WindowListener (Test)", "windowClosed", "Test window closed");
+    }
+
+    @Override
+    public void windowActivated(WindowEvent e) {
+        log("WindowListener (Test)", "windowActivated", "Test window activated");
+    }
+
+    @Override
+    public void windowDeactivated(WindowEvent e) {
+        log("WindowListener (Test)", "windowDeactivated", "Test window deactivated");
+    }
+
+    @Override
+    public void windowGainedFocus(WindowEvent e) {
+        log("WindowFocusListener (Test)", "windowGainedFocus", "Test window gained focus");
+    }
+
+    @Override
+    public void windowLostFocus(WindowEvent e) {
+        log("WindowFocusListener (Test)", "windowLostFocus", "Test window lost focus");
+    }
+
+    @Override
+    public void windowStateChanged(WindowEvent e) {
+        String stateString = "";
+        int state = e.getNewState();
+        if ((state & Frame.ICONIFIED) != 0) {
+            stateString += "ICONIFIED ";
+        }
+        if ((state & Frame.MAXIMIZED_BOTH) != 0) {
+            stateString += "MAXIMIZED ";
+        }
+        if (state == Frame.NORMAL) {
+            stateString = "NORMAL";
+        }
+
+        log("WindowStateListener (Test)", "windowStateChanged", "Test window state: " + stateString);
+    }
+
+    private void log(String listenerType, String methodName, String details) {
+        eventCount++;
+        if (logging) {
+            logger.logEvent(listenerType, methodName, details);
+        }
+    }
+}
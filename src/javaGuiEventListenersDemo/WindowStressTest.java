@@ -0,0 +1,227 @@
+package javaGuiEventListenersDemo;
+
+import static javaGuiEventListenersDemo.MeasureSupport.onEdt;
+import static javaGuiEventListenersDemo.MeasureSupport.settleHeap;
+import static javaGuiEventListenersDemo.MeasureSupport.usedHeap;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionListener;
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Multi-Window Stress Test
+ *
+ * Opens N frames, cycles them through iconify, restore and activation, and
+ * disposes them again, repeated for a number of rounds. Frames disposed in
+ * one round go back to a pool and are shown again in the next, and every
+ * frame shares one TestWindowListener and one close-button ActionListener,
+ * so the rounds after the first allocate no windows or listeners at all.
+ *
+ * Reports window events per second, heap per open window and heap still
+ * held per window after the run. Logging of the test windows' events is
+ * paused meanwhile, so the event log and history do not grow and skew the
+ * heap figures; the shared listener still counts every event. At the end
+ * every pooled frame is checked for exactly one registration of the shared
+ * listener per listener type (a reused frame must not get it twice), the
+ * pool is drained, and weak references confirm that the disposed frames can
+ * be collected.
+ *
+ * run() must be called off the EDT; every Swing call goes through
+ * invokeAndWait.
+ */
+class WindowStressTest {
+
+    /** GC attempts before a still-reachable frame counts as retained. */
+    private static final int GC_ATTEMPTS = 5;
+
+    private final TestWindowListener windowListener;
+    private final ActionListener closeListener =
+            e -> SwingUtilities.getWindowAncestor((Component) e.getSource()).dispose();
+    private final Deque<JFrame> pool = new ArrayDeque<>();
+
+    WindowStressTest(TestWindowListener windowListener) {
+        this.windowListener = windowListener;
+    }
+
+    /**
+     * Figures from one run.
+     */
+    static final class Result {
+
+        final int windows;
+        final int rounds;
+        final long windowEvents;
+        final long elapsedNanos;
+        final long framesCreated;
+        final double heapPerOpenWindowKb;
+        final double heapRetainedPerWindowKb;
+        final int framesRetained;
+        final int framesMisattached;
+
+        Result(int windows, int rounds, long windowEvents, long elapsedNanos, long framesCreated,
+                double heapPerOpenWindowKb, double heapRetainedPerWindowKb, int framesRetained,
+                int framesMisattached) {
+            this.windows = windows;
+            this.rounds = rounds;
+            this.windowEvents = windowEvents;
+            this.elapsedNanos = elapsedNanos;
+            this.framesCreated = framesCreated;
+            this.heapPerOpenWindowKb = heapPerOpenWindowKb;
+            this.heapRetainedPerWindowKb = heapRetainedPerWindowKb;
+            this.framesRetained = framesRetained;
+            this.framesMisattached = framesMisattached;
+        }
+
+        @Override
+        public String toString() {
+            double seconds = elapsedNanos / 1e9;
+            return String.format("%d windows x %d rounds: %,d window events in %.2f s (%,.0f events/s), "
+                    + "%d frames created%nHeap per open window: %.1f KB, still held per window after dispose: %.1f KB%n"
+                    + "Frames retained after dispose: %d of %d, frames without exactly one listener of each type: %d",
+                    windows, rounds, windowEvents, seconds, seconds > 0 ? windowEvents / seconds : 0.0,
+                    framesCreated, heapPerOpenWindowKb, heapRetainedPerWindowKb,
+                    framesRetained, framesCreated, framesMisattached);
+        }
+    }
+
+    /**
+     * @param progress receives one status line per phase; called on this thread
+     */
+    Result run(int windows, int rounds, Consumer<String> progress) throws Exception {
+        onEdt(() -> windowListener.setLogging(false));
+        try {
+            return measure(windows, rounds, progress);
+        } finally {
+            onEdt(() -> windowListener.setLogging(true));
+        }
+    }
+
+    private Result measure(int windows, int rounds, Consumer<String> progress) throws Exception {
+        List<WeakReference<JFrame>> created = new ArrayList<>();
+        settleHeap();
+        long heapBefore = usedHeap();
+        long[] eventsBefore = new long[1];
+        onEdt(() -> eventsBefore[0] = windowListener.getEventCount());
+
+        long heapOpen = 0;
+        long start = System.nanoTime();
+        for (int round = 1; round <= rounds; round++) {
+            progress.accept("Round " + round + "/" + rounds + ": opening " + windows + " windows");
+            List<JFrame> open = new ArrayList<>(windows);
+            for (int i = 0; i < windows; i++) {
+                int index = i;
+                onEdt(() -> {
+                    JFrame frame = pool.poll();
+                    if (frame == null) {
+                        frame = createFrame();
+                        created.add(new WeakReference<>(frame));
+                    }
+                    frame.setTitle("Stress Window " + (index + 1));
+                    frame.setLocation(40 + (index % 20) * 24, 40 + (index / 20 % 20) * 24);
+                    frame.setVisible(true);
+                    open.add(frame);
+                });
+            }
+            if (round == 1) {
+                // Measured once while every window of the first round is showing
+                long paused = System.nanoTime();
+                settleHeap();
+                heapOpen = usedHeap();
+                start += System.nanoTime() - paused;
+            }
+
+            progress.accept("Round " + round + "/" + rounds + ": cycling window states");
+            for (JFrame frame : open) {
+                onEdt(() -> frame.setState(Frame.ICONIFIED));
+            }
+            for (JFrame frame : open) {
+                onEdt(() -> {
+                    frame.setState(Frame.NORMAL);
+                    frame.toFront();
+                });
+            }
+
+            progress.accept("Round " + round + "/" + rounds + ": disposing windows");
+            for (JFrame frame : open) {
+                onEdt(() -> {
+                    frame.dispose();
+                    pool.push(frame);
+                });
+            }
+            open.clear();
+            // Let the windowClosed and focus events of this round arrive
+            onEdt(() -> { });
+        }
+        onEdt(() -> { });
+        long elapsed = System.nanoTime() - start;
+        long[] eventsAfter = new long[1];
+        onEdt(() -> eventsAfter[0] = windowListener.getEventCount());
+
+        progress.accept("Checking for retained windows");
+        int[] misattached = new int[1];
+        onEdt(() -> {
+            for (JFrame frame : pool) {
+                if (registrations(frame.getWindowListeners()) != 1
+                        || registrations(frame.getWindowFocusListeners()) != 1
+                        || registrations(frame.getWindowStateListeners()) != 1) {
+                    misattached[0]++;
+                }
+                release(frame);
+            }
+            pool.clear();
+        });
+
+        int retained = created.size();
+        for (int attempt = 0; attempt < GC_ATTEMPTS && retained > 0; attempt++) {
+            settleHeap();
+            retained = 0;
+            for (WeakReference<JFrame> ref : created) {
+                if (ref.get() != null) {
+                    retained++;
+                }
+            }
+        }
+        long heapAfter = usedHeap();
+
+        return new Result(windows, rounds, eventsAfter[0] - eventsBefore[0], elapsed, created.size(),
+                (heapOpen - heapBefore) / 1024.0 / windows,
+                Math.max(0, heapAfter - heapBefore) / 1024.0 / windows,
+                retained, misattached[0]);
+    }
+
+    private int registrations(Object[] listeners) {
+        int count = 0;
+        for (Object listener : listeners) {
+            if (listener == windowListener) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private JFrame createFrame() {
+        JFrame frame = new JFrame();
+        frame.setSize(220, 120);
+        frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        windowListener.attach(frame);
+
+        JPanel content = new JPanel(new FlowLayout());
+        content.add(new JLabel("Pooled stress window"));
+        JButton closeBtn = new JButton("Close");
+        closeBtn.addActionListener(closeListener);
+        content.add(closeBtn);
+        frame.add(content);
+        return frame;
+    }
+
+    private void release(JFrame frame) {
+        windowListener.detach(frame);
+        frame.getContentPane().removeAll();
+    }
+}